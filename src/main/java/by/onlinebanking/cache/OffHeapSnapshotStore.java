@@ -0,0 +1,96 @@
+package by.onlinebanking.cache;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * LRU store of serialized values kept in direct (off-heap) buffers. Capacity is bounded by total
+ * payload bytes; entries also expire after a fixed time to live. Returned buffers are read-only views,
+ * so callers can write them out without copying them onto the heap first. Direct memory is allocated
+ * outside the lock and only for values that will be stored: when it runs short the JDK collects garbage
+ * and waits inside the allocation, which must not stall readers. Every {@link #clear} starts a new
+ * generation, and values loaded in an earlier one are not stored.
+ */
+public class OffHeapSnapshotStore<K> {
+    private final long capacityBytes;
+    private final long ttlNanos;
+    private final LinkedHashMap<K, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long usedBytes;
+    private volatile long generation;
+
+    public OffHeapSnapshotStore(long capacityBytes, long ttlNanos) {
+        this.capacityBytes = capacityBytes;
+        this.ttlNanos = ttlNanos;
+    }
+
+    public synchronized ByteBuffer get(K key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (System.nanoTime() - entry.createdAt >= ttlNanos) {
+            remove(key);
+            return null;
+        }
+        return entry.buffer.asReadOnlyBuffer();
+    }
+
+    public ByteBuffer put(K key, byte[] bytes) {
+        return put(key, bytes, generation);
+    }
+
+    /** Stores the value unless the store was cleared since {@code loadGeneration} was read. */
+    public ByteBuffer put(K key, byte[] bytes, long loadGeneration) {
+        if (bytes.length > capacityBytes || generation != loadGeneration) {
+            return ByteBuffer.wrap(bytes).asReadOnlyBuffer();
+        }
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes).flip();
+
+        synchronized (this) {
+            if (generation != loadGeneration) {
+                return buffer.asReadOnlyBuffer();
+            }
+            remove(key);
+            Iterator<Map.Entry<K, Entry>> eldest = entries.entrySet().iterator();
+            while (usedBytes + bytes.length > capacityBytes && eldest.hasNext()) {
+                usedBytes -= eldest.next().getValue().buffer.capacity();
+                eldest.remove();
+            }
+
+            entries.put(key, new Entry(buffer, System.nanoTime()));
+            usedBytes += bytes.length;
+        }
+        return buffer.asReadOnlyBuffer();
+    }
+
+    public long generation() {
+        return generation;
+    }
+
+    public synchronized void clear() {
+        generation++;
+        entries.clear();
+        usedBytes = 0;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getUsedBytes() {
+        return usedBytes;
+    }
+
+    private void remove(K key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            usedBytes -= removed.buffer.capacity();
+        }
+    }
+
+    private record Entry(ByteBuffer buffer, long createdAt) {
+    }
+}
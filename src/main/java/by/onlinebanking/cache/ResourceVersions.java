@@ -0,0 +1,105 @@
+package by.onlinebanking.cache;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Change counters used to build ETags for frequently polled resources. Counters are rows of
+ * {@code resource_versions} written in the same transaction as the change they describe, so every instance
+ * sees a new tag exactly when the new data becomes visible, and a rolled back write changes nothing.
+ * Bumps are collected per transaction and written just before commit in key order: each row stays locked
+ * only for the end of the transaction, and concurrent writers cannot deadlock on it. Outside a transaction
+ * a bump is written immediately.
+ */
+@Component
+public class ResourceVersions {
+    private static final String USER_PREFIX = "user:";
+    private static final String ALL_USERS = "users";
+    private static final String ROLES = "roles";
+
+    private static final String BUMP = "INSERT INTO resource_versions (resource, version) VALUES (?, 1) "
+            + "ON CONFLICT (resource) DO UPDATE SET version = resource_versions.version + 1";
+    private static final String SELECT = "SELECT resource, version FROM resource_versions WHERE resource IN (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ResourceVersions(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void bumpUser(Long userId) {
+        if (userId != null) {
+            bump(USER_PREFIX + userId);
+        }
+    }
+
+    public void bumpAllUsers() {
+        bump(ALL_USERS);
+    }
+
+    public void bumpRoles() {
+        bump(ROLES);
+    }
+
+    public String userEtag(String resource, Long userId) {
+        String userKey = USER_PREFIX + userId;
+        Map<String, Long> versions = read(ALL_USERS, userKey);
+        return "\"" + resource + "-" + versions.getOrDefault(ALL_USERS, 0L) + "-"
+                + versions.getOrDefault(userKey, 0L) + "-" + userId + "\"";
+    }
+
+    public String rolesEtag() {
+        return "\"roles-" + read(ROLES, ROLES).getOrDefault(ROLES, 0L) + "\"";
+    }
+
+    private Map<String, Long> read(String first, String second) {
+        Map<String, Long> versions = new HashMap<>();
+        jdbcTemplate.query(SELECT, rs -> {
+            versions.put(rs.getString("resource"), rs.getLong("version"));
+        }, first, second);
+        return versions;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void bump(String resource) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            jdbcTemplate.update(BUMP, resource);
+            return;
+        }
+        Set<String> pending = (Set<String>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new TreeSet<>();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(new PendingBumps(pending));
+        }
+        pending.add(resource);
+    }
+
+    private final class PendingBumps implements TransactionSynchronization {
+        private final Set<String> resources;
+
+        PendingBumps(Set<String> resources) {
+            this.resources = resources;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            List<Object[]> batch = resources.stream()
+                    .map(resource -> new Object[] {resource})
+                    .toList();
+            jdbcTemplate.batchUpdate(BUMP, batch);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(ResourceVersions.this);
+        }
+    }
+}
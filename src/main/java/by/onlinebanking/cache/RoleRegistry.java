@@ -0,0 +1,93 @@
+package by.onlinebanking.cache;
+
+import by.onlinebanking.config.CacheProperties;
+import by.onlinebanking.model.Role;
+import by.onlinebanking.repository.RoleRepository;
+import jakarta.annotation.PostConstruct;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory name-to-id index of roles. Reads go against an immutable snapshot without locking;
+ * the snapshot is rebuilt on startup, whenever roles are created, renamed or deleted here, and once it is
+ * older than {@code app.cache.roles.ttl}, so changes made by another instance are picked up as well.
+ */
+@Component
+public class RoleRegistry {
+    private final RoleRepository roleRepository;
+    private final long ttlNanos;
+    private volatile Snapshot snapshot = new Snapshot(Map.of(), System.nanoTime());
+
+    public RoleRegistry(RoleRepository roleRepository, CacheProperties cacheProperties) {
+        this.roleRepository = roleRepository;
+        this.ttlNanos = cacheProperties.getRoles().getTtl().toNanos();
+    }
+
+    @PostConstruct
+    public synchronized void reload() {
+        snapshot = new Snapshot(roleRepository.findAll().stream()
+                .collect(Collectors.collectingAndThen(
+                        Collectors.toMap(Role::getName, Role::getId),
+                        Map::copyOf)), System.nanoTime());
+    }
+
+    /**
+     * Resolves role names to initialized entities with a single query by id, however many names are given.
+     * Names that are unknown, or whose row was renamed or deleted since the snapshot, trigger one reload;
+     * names that still do not resolve are missing from the result.
+     */
+    public Map<String, Role> findAllByName(Collection<String> names) {
+        if (isExpired(snapshot)) {
+            reloadIfExpired();
+        }
+        Set<String> wanted = new HashSet<>(names);
+        Map<String, Role> roles = load(wanted);
+        if (roles.size() < wanted.size()) {
+            reload();
+            roles = load(wanted);
+        }
+        return roles;
+    }
+
+    public Map<String, Long> getRoleIdsByName() {
+        return snapshot.roleIdsByName();
+    }
+
+    private Map<String, Role> load(Set<String> names) {
+        Map<String, Long> roleIdsByName = snapshot.roleIdsByName();
+        List<Long> ids = names.stream()
+                .map(roleIdsByName::get)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        Map<String, Role> roles = new HashMap<>();
+        if (!ids.isEmpty()) {
+            for (Role role : roleRepository.findAllById(ids)) {
+                if (names.contains(role.getName())) {
+                    roles.put(role.getName(), role);
+                }
+            }
+        }
+        return roles;
+    }
+
+    private synchronized void reloadIfExpired() {
+        if (isExpired(snapshot)) {
+            reload();
+        }
+    }
+
+    private boolean isExpired(Snapshot current) {
+        return System.nanoTime() - current.loadedAt() > ttlNanos;
+    }
+
+    private record Snapshot(Map<String, Long> roleIdsByName, long loadedAt) {
+    }
+}
@@ -0,0 +1,89 @@
+package by.onlinebanking.cache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import org.springframework.cache.Cache;
+
+/**
+ * Decorates the users cache so that every eviction also drops the off-heap listing snapshots,
+ * keeping both in step with the existing {@code @CacheEvict} annotations.
+ */
+public class SnapshotClearingCache implements Cache {
+    private final Cache delegate;
+    private final UsersSnapshotCache snapshotCache;
+
+    public SnapshotClearingCache(Cache delegate, UsersSnapshotCache snapshotCache) {
+        this.delegate = delegate;
+        this.snapshotCache = snapshotCache;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return delegate.get(key, type);
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return delegate.get(key, valueLoader);
+    }
+
+    @Override
+    public CompletableFuture<?> retrieve(Object key) {
+        return delegate.retrieve(key);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        return delegate.retrieve(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return delegate.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+        snapshotCache.clear();
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        snapshotCache.clear();
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+        snapshotCache.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        snapshotCache.clear();
+        return delegate.invalidate();
+    }
+}
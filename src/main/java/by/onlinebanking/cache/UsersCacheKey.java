@@ -0,0 +1,17 @@
+package by.onlinebanking.cache;
+
+import java.util.List;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+public record UsersCacheKey(String fullName, List<String> roleNames, Pageable pageable) {
+    /** Page size and sort of the admin user listing when a request gives none. */
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final String DEFAULT_SORT = "fullName";
+
+    /** The pageable of an unfiltered listing request without paging parameters, as used by warm-up. */
+    public static Pageable defaultPage(int page) {
+        return PageRequest.of(page, DEFAULT_PAGE_SIZE, Sort.by(DEFAULT_SORT));
+    }
+}
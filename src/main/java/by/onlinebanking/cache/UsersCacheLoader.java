@@ -0,0 +1,23 @@
+package by.onlinebanking.cache;
+
+import by.onlinebanking.service.UserService;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+@Component
+public class UsersCacheLoader implements CacheLoader<Object, Object> {
+    private final ObjectProvider<UserService> userService;
+
+    public UsersCacheLoader(ObjectProvider<UserService> userService) {
+        this.userService = userService;
+    }
+
+    @Override
+    public Object load(Object key) {
+        if (!(key instanceof UsersCacheKey usersKey)) {
+            throw new IllegalArgumentException("Unsupported users cache key: " + key);
+        }
+        return userService.getObject().findUsers(usersKey.fullName(), usersKey.roleNames(), usersKey.pageable());
+    }
+}
@@ -0,0 +1,73 @@
+package by.onlinebanking.cache;
+
+import by.onlinebanking.config.CacheConfig;
+import by.onlinebanking.config.CacheProperties;
+import by.onlinebanking.dto.response.UserResponseDto;
+import by.onlinebanking.service.UserService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.ByteBuffer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Component;
+
+/**
+ * Optional replacement for the heap-based users cache on the admin listing endpoint: pages are kept
+ * as pre-serialized JSON in an {@link OffHeapSnapshotStore}, so hits need neither entity-to-DTO mapping
+ * nor Jackson serialization. Cleared together with the users cache, see {@link SnapshotClearingCache}.
+ * A load that overlaps a clear is not stored, so a page read before a write cannot outlive it.
+ */
+@Component
+public class UsersSnapshotCache {
+    private final boolean enabled;
+    private final OffHeapSnapshotStore<UsersCacheKey> store;
+    private final ObjectProvider<UserService> userService;
+    private final ObjectMapper objectMapper;
+
+    public UsersSnapshotCache(CacheProperties cacheProperties,
+                              ObjectProvider<UserService> userService,
+                              ObjectMapper objectMapper) {
+        CacheProperties.Snapshots snapshots = cacheProperties.getSnapshots();
+        this.enabled = snapshots.isEnabled();
+        this.store = new OffHeapSnapshotStore<>(
+                snapshots.getCapacity().toBytes(),
+                cacheProperties.getSpec(CacheConfig.USERS_CACHE).getExpireAfterWrite().toNanos());
+        this.userService = userService;
+        this.objectMapper = objectMapper;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the serialized page for the key, loading and storing it on a miss.
+     * Empty pages are not stored and yield {@code null}.
+     */
+    public ByteBuffer getOrLoad(UsersCacheKey key) {
+        ByteBuffer snapshot = store.get(key);
+        if (snapshot != null) {
+            return snapshot;
+        }
+
+        long loadGeneration = store.generation();
+        Page<UserResponseDto> page = userService.getObject()
+                .findUsers(key.fullName(), key.roleNames(), key.pageable());
+        if (page.isEmpty()) {
+            return null;
+        }
+
+        byte[] bytes;
+        try {
+            bytes = objectMapper.writeValueAsBytes(page);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize users page", e);
+        }
+
+        return store.put(key, bytes, loadGeneration);
+    }
+
+    public void clear() {
+        store.clear();
+    }
+}
@@ -1,7 +1,14 @@
 package by.onlinebanking.config;
 
+import by.onlinebanking.cache.SnapshotClearingCache;
+import by.onlinebanking.cache.UsersCacheLoader;
+import by.onlinebanking.cache.UsersSnapshotCache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
@@ -11,12 +18,68 @@ import org.springframework.context.annotation.Configuration;
 @Configuration
 @EnableCaching
 public class CacheConfig {
+    public static final String USERS_CACHE = "users";
+    public static final String ACCOUNT_OWNERS_CACHE = "accountOwners";
+
     @Bean
-    public CacheManager cacheManager() {
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager("users");
+    public CacheManager cacheManager(CacheProperties cacheProperties,
+                                     UsersCacheLoader usersCacheLoader,
+                                     UsersSnapshotCache usersSnapshotCache,
+                                     ThreadPoolExecutor cacheRefreshExecutor) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(USERS_CACHE, ACCOUNT_OWNERS_CACHE) {
+            @Override
+            protected Cache adaptCaffeineCache(String name,
+                                               com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                Cache adapted = super.adaptCaffeineCache(name, cache);
+                return USERS_CACHE.equals(name) ? new SnapshotClearingCache(adapted, usersSnapshotCache) : adapted;
+            }
+        };
         cacheManager.setCaffeine(Caffeine.newBuilder()
                 .expireAfterWrite(30, TimeUnit.MINUTES)
-                .maximumSize(100));
+                .maximumSize(100)
+                .recordStats());
+
+        CacheProperties.Spec usersSpec = cacheProperties.getSpec(USERS_CACHE);
+        Caffeine<Object, Object> usersBuilder = newBuilder(usersSpec);
+        if (usersSpec.getRefreshAfterWrite() != null) {
+            // Stale-while-revalidate: expired-by-soft-TTL entries are returned immediately
+            // and reloaded on the bounded refresh executor.
+            cacheManager.registerCustomCache(USERS_CACHE, usersBuilder
+                    .refreshAfterWrite(usersSpec.getRefreshAfterWrite())
+                    .executor(cacheRefreshExecutor)
+                    .build(usersCacheLoader));
+        } else {
+            cacheManager.registerCustomCache(USERS_CACHE, usersBuilder.build());
+        }
+
+        cacheManager.registerCustomCache(ACCOUNT_OWNERS_CACHE,
+                newBuilder(cacheProperties.getSpec(ACCOUNT_OWNERS_CACHE)).build());
         return cacheManager;
     }
-}
\ No newline at end of file
+
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor cacheRefreshExecutor(CacheProperties cacheProperties) {
+        CacheProperties.Refresh refresh = cacheProperties.getRefresh();
+        AtomicInteger threadNumber = new AtomicInteger();
+        // AbortPolicy: a rejected refresh is dropped by Caffeine and the stale value keeps being served
+        return new ThreadPoolExecutor(
+                refresh.getPoolSize(),
+                refresh.getPoolSize(),
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(refresh.getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "cache-refresh-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    private Caffeine<Object, Object> newBuilder(CacheProperties.Spec spec) {
+        return Caffeine.newBuilder()
+                .expireAfterWrite(spec.getExpireAfterWrite())
+                .maximumSize(spec.getMaximumSize())
+                .recordStats();
+    }
+}
@@ -0,0 +1,87 @@
+package by.onlinebanking.config;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+@Data
+@Component
+@Validated
+@ConfigurationProperties(prefix = "app.cache")
+public class CacheProperties {
+    private Map<String, @Valid Spec> specs = new HashMap<>();
+    @Valid
+    private Refresh refresh = new Refresh();
+    @Valid
+    private Warmup warmup = new Warmup();
+    @Valid
+    private Snapshots snapshots = new Snapshots();
+    @Valid
+    private Roles roles = new Roles();
+
+    public Spec getSpec(String cacheName) {
+        return specs.getOrDefault(cacheName, new Spec());
+    }
+
+    @Data
+    public static class Spec {
+        private Duration expireAfterWrite = Duration.ofMinutes(30);
+
+        /**
+         * Soft TTL: entries older than this are served as-is and reloaded in the background.
+         * Must be shorter than {@code expireAfterWrite}; {@code null} disables refresh-ahead.
+         */
+        private Duration refreshAfterWrite;
+
+        @Min(1)
+        private long maximumSize = 100;
+    }
+
+    @Data
+    public static class Refresh {
+        @Min(1)
+        private int poolSize = 2;
+
+        @Min(1)
+        private int queueCapacity = 100;
+    }
+
+    @Data
+    public static class Warmup {
+        private boolean enabled = true;
+
+        /** Hard limit on how long startup waits for warm-up before continuing with whatever is loaded. */
+        private Duration timeout = Duration.ofSeconds(10);
+
+        @Min(1)
+        private int parallelism = 4;
+
+        /** First pages of the default admin user listing to preload; their size follows the listing default. */
+        @Min(0)
+        private int userPages = 3;
+
+        @Min(0)
+        private int topAccounts = 100;
+    }
+
+    @Data
+    public static class Roles {
+        /** How long the role name index is trusted before it is reloaded to see changes by other instances. */
+        private Duration ttl = Duration.ofMinutes(1);
+    }
+
+    @Data
+    public static class Snapshots {
+        /** Serve admin user listings from pre-serialized off-heap JSON instead of the heap users cache. */
+        private boolean enabled = false;
+
+        private DataSize capacity = DataSize.ofMegabytes(64);
+    }
+}
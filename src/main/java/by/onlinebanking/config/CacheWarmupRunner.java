@@ -0,0 +1,127 @@
+package by.onlinebanking.config;
+
+import by.onlinebanking.cache.RoleRegistry;
+import by.onlinebanking.cache.UsersCacheKey;
+import by.onlinebanking.cache.UsersSnapshotCache;
+import by.onlinebanking.repository.AccountRepository;
+import by.onlinebanking.service.AccountService;
+import by.onlinebanking.service.UserService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Preloads reference data and the hottest cache entries after {@link DataInitializer} has seeded the database.
+ * Work runs in parallel and is abandoned once {@code app.cache.warmup.timeout} elapses, so a slow database
+ * never holds back application readiness.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class CacheWarmupRunner implements CommandLineRunner {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CacheWarmupRunner.class);
+
+    private final CacheProperties cacheProperties;
+    private final RoleRegistry roleRegistry;
+    private final UserService userService;
+    private final UsersSnapshotCache usersSnapshotCache;
+    private final AccountService accountService;
+    private final AccountRepository accountRepository;
+
+    public CacheWarmupRunner(CacheProperties cacheProperties,
+                             RoleRegistry roleRegistry,
+                             UserService userService,
+                             UsersSnapshotCache usersSnapshotCache,
+                             AccountService accountService,
+                             AccountRepository accountRepository) {
+        this.cacheProperties = cacheProperties;
+        this.roleRegistry = roleRegistry;
+        this.userService = userService;
+        this.usersSnapshotCache = usersSnapshotCache;
+        this.accountService = accountService;
+        this.accountRepository = accountRepository;
+    }
+
+    @Override
+    public void run(String... args) {
+        CacheProperties.Warmup warmup = cacheProperties.getWarmup();
+        if (!warmup.isEnabled()) {
+            return;
+        }
+
+        long startTime = System.nanoTime();
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(warmup.getParallelism(), runnable -> {
+            Thread thread = new Thread(runnable, "cache-warmup-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            tasks.add(executor.submit(roleRegistry::reload));
+            for (int page = 0; page < warmup.getUserPages(); page++) {
+                Pageable pageable = UsersCacheKey.defaultPage(page);
+                tasks.add(executor.submit(() -> warmUsersPage(pageable)));
+            }
+            if (warmup.getTopAccounts() > 0) {
+                tasks.add(executor.submit(() -> warmAccountOwners(warmup.getTopAccounts())));
+            }
+
+            executor.shutdown();
+            if (!executor.awaitTermination(warmup.getTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                executor.shutdownNow();
+                LOGGER.warn("Cache warm-up exceeded {} and was cut short", warmup.getTimeout());
+            }
+
+            long failed = tasks.stream().filter(this::isFailed).count();
+            LOGGER.info("Cache warm-up finished in {} ms | Tasks: {} | Failed or cancelled: {}",
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime), tasks.size(), failed);
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void warmUsersPage(Pageable pageable) {
+        if (usersSnapshotCache.isEnabled()) {
+            usersSnapshotCache.getOrLoad(new UsersCacheKey(null, null, pageable));
+        } else {
+            userService.getUsers(null, null, pageable);
+        }
+    }
+
+    private void warmAccountOwners(int limit) {
+        // There is no transaction history yet, so the largest active balances stand in for the busiest accounts
+        for (String iban : accountRepository.findTopActiveIbans(PageRequest.of(0, limit))) {
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            accountService.getOwnerId(iban);
+        }
+    }
+
+    private boolean isFailed(Future<?> task) {
+        if (!task.isDone() || task.isCancelled()) {
+            return true;
+        }
+        try {
+            task.get();
+            return false;
+        } catch (Exception e) {
+            LOGGER.warn("Cache warm-up task failed: {}", e.getMessage());
+            return true;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package by.onlinebanking.config;
 
+import by.onlinebanking.cache.RoleRegistry;
 import by.onlinebanking.model.Role;
 import by.onlinebanking.model.User;
 import by.onlinebanking.repository.RoleRepository;
@@ -7,19 +8,24 @@ import by.onlinebanking.repository.UserRepository;
 import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.core.env.Environment;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 @Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
 @RequiredArgsConstructor
 public class DataInitializer implements CommandLineRunner {
     private static final String ROLE_ADMIN = "ROLE_ADMIN";
     private static final String ROLE_USER = "ROLE_USER";
+    private static final String ROLE_METRICS = "ROLE_METRICS";
 
     private final RoleRepository roleRepository;
     private final UserRepository userRepository;
+    private final RoleRegistry roleRegistry;
     private final PasswordEncoder passwordEncoder;
     private final Environment env;
 
@@ -27,6 +33,7 @@ public class DataInitializer implements CommandLineRunner {
     @Transactional
     public void run(String... args) {
         initRoles();
+        roleRegistry.reload();
         initAdmin();
     }
 
@@ -42,6 +49,12 @@ public class DataInitializer implements CommandLineRunner {
             role.setName(ROLE_ADMIN);
             roleRepository.save(role);
         }
+
+        if (roleRepository.findByName(ROLE_METRICS).isEmpty()) {
+            Role role = new Role();
+            role.setName(ROLE_METRICS);
+            roleRepository.save(role);
+        }
     }
 
     private void initAdmin() {
@@ -0,0 +1,74 @@
+package by.onlinebanking.config;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.logging")
+public class LoggingProperties {
+    private Tracing tracing = new Tracing();
+    private Rendering rendering = new Rendering();
+    private Exceptions exceptions = new Exceptions();
+
+    @Data
+    public static class Tracing {
+        private boolean enabled = true;
+
+        /** Fraction of calls traced when no entry of {@code sampleRates} matches the declaring class. */
+        @DecimalMin("0.0")
+        @DecimalMax("1.0")
+        private double defaultSampleRate = 1.0;
+
+        /** Sampling rate per package or class name prefix; the longest matching prefix wins. */
+        private Map<String, Double> sampleRates = new HashMap<>();
+
+        /** Calls slower than this are always logged with arguments and result, sampled or not. */
+        private Duration slowThreshold = Duration.ofMillis(500);
+
+        public double getSampleRate(String className) {
+            String bestMatch = null;
+            for (String prefix : sampleRates.keySet()) {
+                if (className.startsWith(prefix) && (bestMatch == null || prefix.length() > bestMatch.length())) {
+                    bestMatch = prefix;
+                }
+            }
+            return bestMatch == null ? defaultSampleRate : sampleRates.get(bestMatch);
+        }
+    }
+
+    @Data
+    public static class Rendering {
+        /** Elements shown per collection, array or map before the rest is summarized as a count. */
+        @Min(1)
+        private int maxElements = 10;
+
+        @Min(8)
+        private int maxStringLength = 200;
+
+        /** Nesting depth beyond which objects are shown only by type. */
+        @Min(1)
+        private int maxDepth = 4;
+
+        /** Cap on the rendered length of a single argument list or result. */
+        @Min(64)
+        private int maxLength = 2000;
+    }
+
+    @Data
+    public static class Exceptions {
+        /** Period over which occurrences are counted per exception type and throw site. */
+        private Duration window = Duration.ofMinutes(1);
+
+        /** Occurrences per type and site logged in a window; only the first carries the stack trace. */
+        @Min(1)
+        private int maxLoggedPerWindow = 5;
+    }
+}
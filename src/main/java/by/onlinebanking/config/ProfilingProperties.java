@@ -0,0 +1,20 @@
+package by.onlinebanking.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.profiling")
+public class ProfilingProperties {
+    /** Recordings stop on their own after this long, whatever duration was requested. */
+    private Duration maxDuration = Duration.ofMinutes(10);
+
+    /** How long a finished recording can be downloaded before its file is deleted. */
+    private Duration resultTtl = Duration.ofMinutes(15);
+
+    /** Directory for recording files; the system temp directory when blank. */
+    private String dir = "";
+}
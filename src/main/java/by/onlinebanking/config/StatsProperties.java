@@ -0,0 +1,93 @@
+package by.onlinebanking.config;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+@Data
+@Component
+@Validated
+@ConfigurationProperties(prefix = "app.stats")
+public class StatsProperties {
+    /** Distinct routes tracked; visits to further routes are counted under the overflow key. */
+    @Min(1)
+    private int maxRoutes = 500;
+
+    @Valid
+    private Persistence persistence = new Persistence();
+
+    @Valid
+    private Top top = new Top();
+
+    @Valid
+    private Latency latency = new Latency();
+
+    @Valid
+    private Sql sql = new Sql();
+
+    @Data
+    public static class Persistence {
+        private boolean enabled = true;
+
+        /** How often visits recorded since the last snapshot are added to the database. */
+        private Duration interval = Duration.ofMinutes(1);
+
+        @Min(1)
+        private int batchSize = 500;
+
+        /** Lifetime totals of routes without visits for this long are deleted and no longer restored. */
+        private Duration totalRetention = Duration.ofDays(30);
+    }
+
+    @Data
+    public static class Top {
+        /** Counters per sketch row; a key's count may be overestimated by about 3/width of its minute's total. */
+        @Min(16)
+        private int width = 512;
+
+        /** Keys kept per minute and dimension as candidates for the top list. */
+        @Min(1)
+        private int candidates = 64;
+    }
+
+    @Data
+    public static class Latency {
+        /** Minutes of per-route latency kept for /api/stats/latency; each one with traffic takes ~3 KB per route. */
+        @Min(1)
+        @Max(60)
+        private int minutes = 15;
+    }
+
+    @Data
+    public static class Sql {
+        /** Proxy the data source to count statements per request. */
+        private boolean enabled = true;
+
+        /** Add X-Sql-Statements and X-Sql-Time-Ms to responses; meant for non-production environments. */
+        private boolean headerEnabled = false;
+
+        /** Requests running more statements than this are logged as a warning. */
+        @Min(1)
+        private int warnStatements = 20;
+
+        /** The same statement running this many times in one request is logged as a possible N+1. */
+        @Min(2)
+        private int repeatThreshold = 5;
+
+        /** Statements slower than this are logged with their parameters and calling method. */
+        private Duration slowQueryThreshold = Duration.ofMillis(200);
+
+        /** Transactions started by service methods and held longer than this are logged. */
+        private Duration slowTransactionThreshold = Duration.ofSeconds(1);
+
+        /** Columns whose bound values are shown as {@code ***} in the slow-statement log. */
+        private List<String> redactedColumns = new ArrayList<>(List.of("password"));
+    }
+}
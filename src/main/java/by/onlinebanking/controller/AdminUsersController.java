@@ -1,23 +1,32 @@
 package by.onlinebanking.controller;
 
+import by.onlinebanking.cache.UsersCacheKey;
+import by.onlinebanking.cache.UsersSnapshotCache;
 import by.onlinebanking.dto.account.AccountDto;
 import by.onlinebanking.dto.response.UserResponseDto;
 import by.onlinebanking.dto.user.CreateUserDto;
 import by.onlinebanking.dto.user.UpdateUserDto;
+import by.onlinebanking.exception.ApiException;
 import by.onlinebanking.exception.NotFoundException;
 import by.onlinebanking.model.enums.Currency;
 import by.onlinebanking.service.AccountService;
 import by.onlinebanking.service.UserService;
 import by.onlinebanking.validation.interfaces.OnPatch;
 import by.onlinebanking.validation.interfaces.OnUpdate;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -36,12 +45,15 @@ import org.springframework.web.bind.annotation.RestController;
 public class AdminUsersController {
     private final UserService userService;
     private final AccountService accountService;
+    private final UsersSnapshotCache usersSnapshotCache;
 
     @Autowired
     public AdminUsersController(UserService userService,
-                               AccountService accountService) {
+                               AccountService accountService,
+                               UsersSnapshotCache usersSnapshotCache) {
         this.userService = userService;
         this.accountService = accountService;
+        this.usersSnapshotCache = usersSnapshotCache;
     }
 
     @PostMapping
@@ -65,19 +77,45 @@ public class AdminUsersController {
     public ResponseEntity<Page<UserResponseDto>> getUsers(
             @RequestParam(required = false) String fullName,
             @RequestParam(required = false) List<String> roleNames,
-            @PageableDefault(size = 20, sort = "fullName") Pageable pageable
-    ) {
+            @PageableDefault(size = UsersCacheKey.DEFAULT_PAGE_SIZE, sort = UsersCacheKey.DEFAULT_SORT)
+            Pageable pageable,
+            HttpServletResponse response
+    ) throws IOException {
+        if (usersSnapshotCache.isEnabled()) {
+            ByteBuffer snapshot = usersSnapshotCache.getOrLoad(new UsersCacheKey(fullName, roleNames, pageable));
+            if (snapshot == null) {
+                throw usersNotFound(fullName, roleNames);
+            }
+            writeSnapshot(snapshot, response);
+            return null;
+        }
+
         Page<UserResponseDto> users = userService.getUsers(fullName, roleNames, pageable);
 
         if (users.isEmpty()) {
-            throw new NotFoundException("No users found with the specified criteria")
-                    .addDetail("fullName", fullName)
-                    .addDetail("roleNames", roleNames);
+            throw usersNotFound(fullName, roleNames);
         }
 
         return ResponseEntity.ok(users);
     }
 
+    private ApiException usersNotFound(String fullName, List<String> roleNames) {
+        return new NotFoundException("No users found with the specified criteria")
+                .addDetail("fullName", fullName)
+                .addDetail("roleNames", roleNames);
+    }
+
+    private void writeSnapshot(ByteBuffer snapshot, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLengthLong(snapshot.remaining());
+        WritableByteChannel channel = Channels.newChannel(response.getOutputStream());
+        while (snapshot.hasRemaining()) {
+            channel.write(snapshot);
+        }
+        response.flushBuffer();
+    }
+
     @GetMapping("/{userId}")
     public ResponseEntity<UserResponseDto> getUserById(@PathVariable Long userId) {
         UserResponseDto response = userService.getUserById(userId);
@@ -1,13 +1,16 @@
 package by.onlinebanking.controller;
 
+import by.onlinebanking.dto.log.LogSearchResponseDto;
 import by.onlinebanking.exception.BusinessException;
 import by.onlinebanking.exception.NotFoundException;
+import by.onlinebanking.logging.service.AppenderStatsService;
+import by.onlinebanking.logging.service.LogSearchService;
 import by.onlinebanking.logging.service.LogsService;
 import jakarta.validation.constraints.Pattern;
 import java.time.LocalDate;
 import java.util.Map;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -23,15 +26,23 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/api/logs")
 @RestController
 public class LogsController {
+    private static final MediaType GZIP = MediaType.parseMediaType("application/gzip");
+
     private final LogsService logsService;
+    private final LogSearchService logSearchService;
+    private final AppenderStatsService appenderStatsService;
 
     @Autowired
-    public LogsController(LogsService logsService) {
+    public LogsController(LogsService logsService,
+                          LogSearchService logSearchService,
+                          AppenderStatsService appenderStatsService) {
         this.logsService = logsService;
+        this.logSearchService = logSearchService;
+        this.appenderStatsService = appenderStatsService;
     }
 
-    @GetMapping(value = "/{taskId}/file", produces = MediaType.TEXT_PLAIN_VALUE)
-    public ResponseEntity<ByteArrayResource> getLogFileByTaskId(@PathVariable String taskId) {
+    @GetMapping("/{taskId}/file")
+    public ResponseEntity<FileSystemResource> getLogFileByTaskId(@PathVariable String taskId) {
         try {
             LogsService.LogFileResult result = logsService.getTaskLog(taskId);
 
@@ -40,7 +51,7 @@ public class LogsController {
             }
             return ResponseEntity.ok()
                     .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + result.getFilename())
-                    .contentType(MediaType.TEXT_PLAIN)
+                    .contentType(result.isCompressed() ? GZIP : MediaType.TEXT_PLAIN)
                     .contentLength(result.getContentLength())
                     .body(result.getResource());
         } catch (Exception e) {
@@ -50,6 +61,27 @@ public class LogsController {
         }
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<LogSearchResponseDto> searchLogs(@RequestParam String from,
+                                                           @RequestParam String to,
+                                                           @RequestParam(required = false) String level,
+                                                           @RequestParam(required = false) String logger,
+                                                           @RequestParam(required = false) String requestId,
+                                                           @RequestParam(required = false) String contains,
+                                                           @RequestParam(required = false) Integer limit,
+                                                           @RequestParam(required = false) String cursor) {
+        LogSearchResponseDto response = logSearchService.search(
+                logSearchService.parseDateTime(from, "from"),
+                logSearchService.parseDateTime(to, "to"),
+                level, logger, requestId, contains, limit, cursor);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/appenders")
+    public ResponseEntity<Map<String, Map<String, Object>>> getAppenderStats() {
+        return ResponseEntity.ok(appenderStatsService.getStats());
+    }
+
     @GetMapping("/{taskId}/status")
     public ResponseEntity<Map<String, Object>> getTaskStatusByTaskId(@PathVariable String taskId) {
         Map<String, Object> response = logsService.getTaskStatus(taskId);
@@ -0,0 +1,72 @@
+package by.onlinebanking.controller;
+
+import by.onlinebanking.exception.BusinessException;
+import by.onlinebanking.exception.ValidationException;
+import by.onlinebanking.profiling.service.ProfilingService;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RequestMapping("/api/admin/profiling")
+@RestController
+public class ProfilingController {
+    private final ProfilingService profilingService;
+
+    @Autowired
+    public ProfilingController(ProfilingService profilingService) {
+        this.profilingService = profilingService;
+    }
+
+    @PostMapping
+    public ResponseEntity<Map<String, String>> startRecording(@RequestParam(defaultValue = "profile") String profile,
+                                                              @RequestParam(defaultValue = "60s") String duration) {
+        String taskId = profilingService.startRecording(profile, parseDuration(duration));
+        return ResponseEntity.accepted().body(Map.of("taskId", taskId));
+    }
+
+    @PostMapping("/{taskId}/stop")
+    public ResponseEntity<Map<String, Object>> stopRecording(@PathVariable String taskId) {
+        return ResponseEntity.accepted().body(profilingService.stopRecording(taskId));
+    }
+
+    @GetMapping("/{taskId}/status")
+    public ResponseEntity<Map<String, Object>> getTaskStatus(@PathVariable String taskId) {
+        return ResponseEntity.ok(profilingService.getTaskStatus(taskId));
+    }
+
+    @GetMapping("/{taskId}/file")
+    public ResponseEntity<FileSystemResource> getRecordingFile(@PathVariable String taskId) {
+        try {
+            ProfilingService.RecordingResult result = profilingService.getRecording(taskId);
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + result.getFilename())
+                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                    .contentLength(result.getSize())
+                    .body(result.getResource());
+        } catch (IOException e) {
+            throw new BusinessException("Error while getting recording")
+                    .addDetail("taskId", taskId)
+                    .addDetail("error", e.getMessage());
+        }
+    }
+
+    private Duration parseDuration(String duration) {
+        try {
+            return DurationStyle.detectAndParse(duration);
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Invalid duration (e.g. 30s, 5m)").addDetail("duration", duration);
+        }
+    }
+}
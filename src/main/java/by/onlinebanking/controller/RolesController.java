@@ -1,5 +1,6 @@
 package by.onlinebanking.controller;
 
+import by.onlinebanking.cache.ResourceVersions;
 import by.onlinebanking.dto.role.RoleDto;
 import by.onlinebanking.service.RoleService;
 import jakarta.validation.Valid;
@@ -15,12 +16,14 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/roles")
 @RequiredArgsConstructor
 public class RolesController {
     private final RoleService roleService;
+    private final ResourceVersions resourceVersions;
 
     @PostMapping
     public ResponseEntity<RoleDto> createRole(@Valid @RequestBody RoleDto roleDto) {
@@ -29,8 +32,13 @@ public class RolesController {
     }
 
     @GetMapping
-    public ResponseEntity<List<RoleDto>> getAllRoles() {
-        return ResponseEntity.ok(roleService.getAllRoles());
+    public ResponseEntity<List<RoleDto>> getAllRoles(WebRequest request) {
+        String etag = resourceVersions.rolesEtag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+
+        return ResponseEntity.ok().eTag(etag).body(roleService.getAllRoles());
     }
 
     @PutMapping("/{roleId}")
@@ -1,5 +1,6 @@
 package by.onlinebanking.controller;
 
+import by.onlinebanking.cache.ResourceVersions;
 import by.onlinebanking.dto.account.AccountDto;
 import by.onlinebanking.dto.response.UserResponseDto;
 import by.onlinebanking.dto.user.UpdateUserDto;
@@ -21,6 +22,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/user")
@@ -28,16 +30,27 @@ import org.springframework.web.bind.annotation.RestController;
 public class UserProfileController {
     private final UserService userService;
     private final AccountService accountService;
+    private final ResourceVersions resourceVersions;
 
     @Autowired
-    public UserProfileController(UserService userService, AccountService accountService) {
+    public UserProfileController(UserService userService,
+                                 AccountService accountService,
+                                 ResourceVersions resourceVersions) {
         this.userService = userService;
         this.accountService = accountService;
+        this.resourceVersions = resourceVersions;
     }
 
     @GetMapping("/profile")
-    public ResponseEntity<UserResponseDto> getMyProfile() {
-        return ResponseEntity.ok(new UserResponseDto(userService.getUserFromAuthentication()));
+    public ResponseEntity<UserResponseDto> getMyProfile(WebRequest request) {
+        User currentUser = userService.getUserFromAuthentication();
+        String etag = resourceVersions.userEtag("profile", currentUser.getId());
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+
+        // Reloaded after reading the tag: the principal was loaded before it and may predate a commit
+        return ResponseEntity.ok().eTag(etag).body(userService.getUserById(currentUser.getId()));
     }
 
     @PatchMapping("/profile")
@@ -48,10 +61,14 @@ public class UserProfileController {
     }
 
     @GetMapping("/accounts")
-    public ResponseEntity<List<AccountDto>> getMyAccounts() {
+    public ResponseEntity<List<AccountDto>> getMyAccounts(WebRequest request) {
         User currentUser = userService.getUserFromAuthentication();
+        String etag = resourceVersions.userEtag("accounts", currentUser.getId());
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
 
-        return ResponseEntity.ok(accountService.getAccountsByUserId(currentUser.getId()));
+        return ResponseEntity.ok().eTag(etag).body(accountService.getAccountsByUserId(currentUser.getId()));
     }
 
     @PostMapping("/accounts")
@@ -1,6 +1,11 @@
 package by.onlinebanking.controller;
 
+import by.onlinebanking.dto.stats.RouteLatencyDto;
+import by.onlinebanking.dto.stats.RouteVisitsDto;
+import by.onlinebanking.dto.stats.TopKeyDto;
+import by.onlinebanking.dto.stats.VisitRateDto;
 import by.onlinebanking.stats.service.VisitCounterService;
+import java.util.List;
 import java.util.Map;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -31,4 +36,30 @@ public class VisitStatsController {
     public Map<String, Long> getAllStats() {
         return visitCounterService.getAllStats();
     }
+
+    @GetMapping("/rate")
+    public List<VisitRateDto> getVisitRate(@RequestParam(defaultValue = "second") String resolution,
+                                           @RequestParam(defaultValue = "60") int points,
+                                           @RequestParam(required = false) String route) {
+        return visitCounterService.getVisitRate(resolution, points, route);
+    }
+
+    @GetMapping("/latency")
+    public List<RouteLatencyDto> getLatencies(@RequestParam(defaultValue = "5m") String window,
+                                              @RequestParam(required = false) String route) {
+        return visitCounterService.getLatencies(window, route);
+    }
+
+    @GetMapping("/routes/top")
+    public List<RouteVisitsDto> getTopRoutes(@RequestParam(defaultValue = "1m") String window,
+                                             @RequestParam(defaultValue = "10") int limit) {
+        return visitCounterService.getTopRoutes(window, limit);
+    }
+
+    @GetMapping("/top")
+    public List<TopKeyDto> getTopKeys(@RequestParam String dimension,
+                                      @RequestParam(defaultValue = "5m") String window,
+                                      @RequestParam(defaultValue = "10") int limit) {
+        return visitCounterService.getTopKeys(dimension, window, limit);
+    }
 }
@@ -0,0 +1,17 @@
+package by.onlinebanking.dto.log;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@AllArgsConstructor
+@ToString
+public class LogEntryDto {
+    private String timestamp;
+    private String level;
+    private String thread;
+    private String logger;
+    private String requestId;
+    private String message;
+}
@@ -0,0 +1,16 @@
+package by.onlinebanking.dto.log;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@AllArgsConstructor
+@ToString
+public class LogSearchResponseDto {
+    private List<LogEntryDto> entries;
+
+    /** Opaque token for the next page; {@code null} when the range has been fully read. */
+    private String nextCursor;
+}
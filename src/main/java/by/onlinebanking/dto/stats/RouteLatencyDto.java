@@ -0,0 +1,19 @@
+package by.onlinebanking.dto.stats;
+
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@AllArgsConstructor
+@ToString
+public class RouteLatencyDto {
+    private String route;
+    private long requests;
+    private double p50Ms;
+    private double p95Ms;
+    private double p99Ms;
+    private double maxMs;
+    private Map<String, Long> statusClasses;
+}
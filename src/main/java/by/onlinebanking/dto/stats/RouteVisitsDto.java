@@ -0,0 +1,13 @@
+package by.onlinebanking.dto.stats;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@AllArgsConstructor
+@ToString
+public class RouteVisitsDto {
+    private String route;
+    private long visits;
+}
@@ -0,0 +1,14 @@
+package by.onlinebanking.dto.stats;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@AllArgsConstructor
+@ToString
+public class TopKeyDto {
+    private String key;
+    /** Estimated count; may exceed the real one, never falls short of it. */
+    private long count;
+}
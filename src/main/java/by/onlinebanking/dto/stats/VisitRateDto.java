@@ -0,0 +1,15 @@
+package by.onlinebanking.dto.stats;
+
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@AllArgsConstructor
+@ToString
+public class VisitRateDto {
+    private Instant start;
+    private long visits;
+    private double perSecond;
+}
@@ -1,6 +1,7 @@
 package by.onlinebanking.dto.user;
 
 import by.onlinebanking.dto.role.RoleDto;
+import by.onlinebanking.logging.annotations.Sensitive;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -41,6 +42,7 @@ public class CreateUserDto implements UserBaseDto {
             message = "Password must contain at least one letter and one number"
     )
     @ToString.Exclude
+    @Sensitive
     private String password;
 
     @NotEmpty(message = "At least one role is required")
@@ -1,6 +1,7 @@
 package by.onlinebanking.dto.user;
 
 import by.onlinebanking.dto.role.RoleDto;
+import by.onlinebanking.logging.annotations.Sensitive;
 import by.onlinebanking.model.User;
 import by.onlinebanking.validation.interfaces.OnPatch;
 import by.onlinebanking.validation.interfaces.OnUpdate;
@@ -53,6 +54,7 @@ public class UpdateUserDto implements UserBaseDto {
             message = "Password must contain at least one letter and one number"
     )
     @ToString.Exclude
+    @Sensitive
     private String password;
 
     public UpdateUserDto() {
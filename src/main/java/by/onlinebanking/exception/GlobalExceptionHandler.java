@@ -79,6 +79,7 @@ public class GlobalExceptionHandler {
         HttpStatus status = switch (ex.getErrorCode()) {
             case "NOT_FOUND" -> HttpStatus.NOT_FOUND;
             case "BUSINESS_ERROR" -> HttpStatus.CONFLICT;
+            case "TOO_MANY_REQUESTS" -> HttpStatus.TOO_MANY_REQUESTS;
             default -> HttpStatus.BAD_REQUEST;
         };
 
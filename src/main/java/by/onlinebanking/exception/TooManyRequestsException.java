@@ -0,0 +1,13 @@
+package by.onlinebanking.exception;
+
+import java.util.Map;
+
+public class TooManyRequestsException extends ApiException {
+    public TooManyRequestsException(String message) {
+        super("TOO_MANY_REQUESTS", message);
+    }
+
+    public TooManyRequestsException(String message, Map<String, Object> details) {
+        super("TOO_MANY_REQUESTS", message, details);
+    }
+}
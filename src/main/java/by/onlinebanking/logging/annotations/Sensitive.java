@@ -0,0 +1,17 @@
+package by.onlinebanking.logging.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a value that must never appear in logs; {@code ArgumentRenderer} prints it as {@code ***}.
+ * On a field or method parameter it hides that value, on a method it hides the method's result.
+ */
+@Documented
+@Target({ElementType.FIELD, ElementType.PARAMETER, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Sensitive {
+}
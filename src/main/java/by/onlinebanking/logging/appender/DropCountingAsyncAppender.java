@@ -0,0 +1,55 @@
+package by.onlinebanking.logging.appender;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link AsyncAppender} that counts the events it drops: those discarded by level once the queue
+ * passes the discarding threshold, and those rejected because the queue was full in never-block mode.
+ * Never-block mode only ever drops events below WARN; warnings and errors wait for queue space.
+ */
+public class DropCountingAsyncAppender extends AsyncAppender {
+    private final LongAdder discarded = new LongAdder();
+    private final LongAdder overflowed = new LongAdder();
+    // Kept here instead of in the base class, whose never-block mode would drop events of any level
+    private boolean neverBlock;
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        if (neverBlock && isStarted() && getRemainingCapacity() == 0
+                && !event.getLevel().isGreaterOrEqual(Level.WARN)) {
+            overflowed.increment();
+            return;
+        }
+        super.append(event);
+    }
+
+    @Override
+    protected boolean isDiscardable(ILoggingEvent event) {
+        boolean discardable = super.isDiscardable(event);
+        if (discardable) {
+            discarded.increment();
+        }
+        return discardable;
+    }
+
+    @Override
+    public void setNeverBlock(boolean neverBlock) {
+        this.neverBlock = neverBlock;
+    }
+
+    @Override
+    public boolean isNeverBlock() {
+        return neverBlock;
+    }
+
+    public long getDiscardedCount() {
+        return discarded.sum();
+    }
+
+    public long getOverflowCount() {
+        return overflowed.sum();
+    }
+}
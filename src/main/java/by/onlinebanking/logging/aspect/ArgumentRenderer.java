@@ -0,0 +1,256 @@
+package by.onlinebanking.logging.aspect;
+
+import by.onlinebanking.config.LoggingProperties;
+import by.onlinebanking.logging.annotations.Sensitive;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.hibernate.Hibernate;
+import org.springframework.data.domain.Page;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+/**
+ * Renders method arguments and results for the logging aspects with bounded cost: collections, arrays and
+ * maps show only their first elements, strings and the whole output are capped, nesting is limited, and
+ * {@link Sensitive} fields, parameters and method results are redacted. Application classes are rendered
+ * field by field instead of via {@code toString}, which also keeps lazy JPA associations from being loaded.
+ * One builder per thread is reused.
+ */
+@Component
+public class ArgumentRenderer {
+    private static final String APPLICATION_PACKAGE = "by.onlinebanking.";
+    private static final String REDACTED = "***";
+    private static final int MAX_RETAINED_CAPACITY = 16 * 1024;
+
+    private static final ClassValue<List<Field>> FIELDS = new ClassValue<>() {
+        @Override
+        protected List<Field> computeValue(Class<?> type) {
+            List<Field> fields = new ArrayList<>();
+            for (Class<?> current = type; current != null && current != Object.class;
+                 current = current.getSuperclass()) {
+                for (Field field : current.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers()) && !field.isSynthetic()) {
+                        field.setAccessible(true);
+                        fields.add(field);
+                    }
+                }
+            }
+            return List.copyOf(fields);
+        }
+    };
+
+    private final LoggingProperties.Rendering limits;
+    private final ThreadLocal<StringBuilder> builders = ThreadLocal.withInitial(() -> new StringBuilder(256));
+    private final Map<Method, boolean[]> sensitiveParameters = new ConcurrentHashMap<>();
+
+    public ArgumentRenderer(LoggingProperties loggingProperties) {
+        this.limits = loggingProperties.getRendering();
+    }
+
+    public String render(Object value) {
+        StringBuilder builder = builders.get();
+        builder.setLength(0);
+        try {
+            append(builder, value, 0);
+            if (builder.length() > limits.getMaxLength()) {
+                builder.setLength(limits.getMaxLength());
+                builder.append("...");
+            }
+            return builder.toString();
+        } finally {
+            if (builder.capacity() > MAX_RETAINED_CAPACITY) {
+                builders.remove();
+            }
+        }
+    }
+
+    /** Renders the arguments of a call, with those of {@link Sensitive} parameters shown as {@code ***}. */
+    public String renderArguments(Method method, Object[] args) {
+        boolean[] sensitive = sensitiveParameters.computeIfAbsent(method, ArgumentRenderer::findSensitiveParameters);
+        Object[] rendered = args;
+        for (int i = 0; i < sensitive.length && i < args.length; i++) {
+            if (sensitive[i]) {
+                if (rendered == args) {
+                    rendered = args.clone();
+                }
+                rendered[i] = REDACTED;
+            }
+        }
+        return render(rendered);
+    }
+
+    /** Renders the result of a call, or {@code ***} if the method is annotated {@link Sensitive}. */
+    public String renderResult(Method method, Object result) {
+        return method.isAnnotationPresent(Sensitive.class) ? REDACTED : render(result);
+    }
+
+    /** Defers rendering to {@code toString}, so it only happens if the log line is actually written. */
+    public Object lazy(Object value) {
+        return deferred(() -> render(value));
+    }
+
+    public Object lazyArguments(Method method, Object[] args) {
+        return deferred(() -> renderArguments(method, args));
+    }
+
+    public Object lazyResult(Method method, Object result) {
+        return deferred(() -> renderResult(method, result));
+    }
+
+    private static Object deferred(Supplier<String> renderer) {
+        return new Object() {
+            @Override
+            public String toString() {
+                return renderer.get();
+            }
+        };
+    }
+
+    private static boolean[] findSensitiveParameters(Method method) {
+        Annotation[][] annotations = method.getParameterAnnotations();
+        boolean[] sensitive = new boolean[annotations.length];
+        for (int i = 0; i < annotations.length; i++) {
+            for (Annotation annotation : annotations[i]) {
+                sensitive[i] |= annotation instanceof Sensitive;
+            }
+        }
+        return sensitive;
+    }
+
+    private void append(StringBuilder builder, Object value, int depth) {
+        if (builder.length() > limits.getMaxLength()) {
+            return;
+        }
+        if (value == null) {
+            builder.append("null");
+        } else if (value instanceof CharSequence text) {
+            appendText(builder, text);
+        } else if (value instanceof Number || value instanceof Boolean || value instanceof Character
+                || value instanceof Enum<?> || value instanceof Temporal || value instanceof UUID) {
+            builder.append(value);
+        } else if (!Hibernate.isInitialized(value)) {
+            builder.append("<not loaded>");
+        } else if (depth >= limits.getMaxDepth()) {
+            builder.append(value.getClass().getSimpleName()).append("{...}");
+        } else if (value instanceof ResponseEntity<?> response) {
+            builder.append("ResponseEntity[").append(response.getStatusCode().value()).append(", body=");
+            append(builder, response.getBody(), depth + 1);
+            builder.append(']');
+        } else if (value instanceof Page<?> page) {
+            builder.append("Page[").append(page.getNumber()).append('/').append(page.getTotalPages())
+                    .append(", total=").append(page.getTotalElements()).append(", content=");
+            appendElements(builder, page.getContent().iterator(), page.getNumberOfElements(), depth + 1);
+            builder.append(']');
+        } else if (value instanceof Collection<?> collection) {
+            appendElements(builder, collection.iterator(), collection.size(), depth + 1);
+        } else if (value instanceof Map<?, ?> map) {
+            appendMap(builder, map, depth + 1);
+        } else if (value.getClass().isArray()) {
+            appendArray(builder, value, depth + 1);
+        } else if (value.getClass().getName().startsWith(APPLICATION_PACKAGE)) {
+            appendFields(builder, value, depth + 1);
+        } else {
+            appendText(builder, String.valueOf(value));
+        }
+    }
+
+    private void appendText(StringBuilder builder, CharSequence text) {
+        int maxLength = limits.getMaxStringLength();
+        if (text.length() <= maxLength) {
+            builder.append(text);
+        } else {
+            builder.append(text, 0, maxLength).append("...(").append(text.length()).append(" chars)");
+        }
+    }
+
+    private void appendElements(StringBuilder builder, Iterator<?> iterator, int size, int depth) {
+        builder.append('[');
+        int shown = 0;
+        while (iterator.hasNext() && shown < limits.getMaxElements()) {
+            if (shown++ > 0) {
+                builder.append(", ");
+            }
+            append(builder, iterator.next(), depth);
+        }
+        appendRemainder(builder, size - shown);
+        builder.append(']');
+    }
+
+    private void appendArray(StringBuilder builder, Object array, int depth) {
+        if (array instanceof byte[] bytes) {
+            builder.append("byte[").append(bytes.length).append(']');
+            return;
+        }
+        int length = Array.getLength(array);
+        int shown = Math.min(length, limits.getMaxElements());
+        builder.append('[');
+        for (int i = 0; i < shown; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            append(builder, Array.get(array, i), depth);
+        }
+        appendRemainder(builder, length - shown);
+        builder.append(']');
+    }
+
+    private void appendMap(StringBuilder builder, Map<?, ?> map, int depth) {
+        builder.append('{');
+        int shown = 0;
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            if (shown == limits.getMaxElements()) {
+                break;
+            }
+            if (shown++ > 0) {
+                builder.append(", ");
+            }
+            append(builder, entry.getKey(), depth);
+            builder.append('=');
+            append(builder, entry.getValue(), depth);
+        }
+        appendRemainder(builder, map.size() - shown);
+        builder.append('}');
+    }
+
+    private void appendFields(StringBuilder builder, Object value, int depth) {
+        Class<?> type = Hibernate.getClass(value);
+        Object target = Hibernate.unproxy(value);
+        builder.append(type.getSimpleName()).append('{');
+        boolean first = true;
+        for (Field field : FIELDS.get(type)) {
+            if (!first) {
+                builder.append(", ");
+            }
+            first = false;
+            builder.append(field.getName()).append('=');
+            if (field.isAnnotationPresent(Sensitive.class)) {
+                builder.append(REDACTED);
+                continue;
+            }
+            try {
+                append(builder, field.get(target), depth);
+            } catch (IllegalAccessException e) {
+                builder.append('?');
+            }
+        }
+        builder.append('}');
+    }
+
+    private void appendRemainder(StringBuilder builder, int remaining) {
+        if (remaining > 0) {
+            builder.append(", ...(").append(remaining).append(" more)");
+        }
+    }
+}
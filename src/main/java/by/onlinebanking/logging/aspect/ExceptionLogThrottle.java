@@ -0,0 +1,124 @@
+package by.onlinebanking.logging.aspect;
+
+import by.onlinebanking.config.LoggingProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.lang.ref.WeakReference;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Decides how much of an exception {@link ExceptionLoggingAspect} writes. An exception propagating through
+ * several intercepted methods is logged only at the first one: the last logged exception is remembered per
+ * thread and recognized by identity. Occurrences are counted per exception type and throw site; within a
+ * window the first one is logged with its stack trace, the next few without, and the rest only show up in
+ * the summary line written when the window closes.
+ */
+@Component
+public class ExceptionLogThrottle {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExceptionLogThrottle.class);
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 5;
+
+    public enum Decision {
+        /** Already logged further down the same propagation. */
+        SKIP,
+        LOG_WITH_STACK_TRACE,
+        LOG,
+        /** Counted only; reported in the window summary. */
+        SUPPRESS
+    }
+
+    private final LoggingProperties.Exceptions settings;
+    private final Map<Site, AtomicLong> occurrences = new ConcurrentHashMap<>();
+    private final ThreadLocal<WeakReference<Throwable>> lastLogged = new ThreadLocal<>();
+    private final ScheduledExecutorService summaryExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "exception-log-summary");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ExceptionLogThrottle(LoggingProperties loggingProperties) {
+        this.settings = loggingProperties.getExceptions();
+    }
+
+    @PostConstruct
+    public void init() {
+        long windowMillis = settings.getWindow().toMillis();
+        summaryExecutor.scheduleAtFixedRate(this::flush, windowMillis, windowMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /** Lets a flush that is already running finish before writing the final summary. */
+    @PreDestroy
+    public void shutdown() {
+        summaryExecutor.shutdown();
+        try {
+            if (!summaryExecutor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                summaryExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            summaryExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    public Decision record(Throwable ex) {
+        WeakReference<Throwable> previous = lastLogged.get();
+        if (previous != null && previous.get() == ex) {
+            return Decision.SKIP;
+        }
+        lastLogged.set(new WeakReference<>(ex));
+
+        long count = occurrences.computeIfAbsent(Site.of(ex), site -> new AtomicLong()).incrementAndGet();
+        if (count == 1) {
+            return Decision.LOG_WITH_STACK_TRACE;
+        }
+        return count <= settings.getMaxLoggedPerWindow() ? Decision.LOG : Decision.SUPPRESS;
+    }
+
+    /**
+     * Closes the current window, logging a summary for every site that had occurrences suppressed.
+     * Each counter is read and reset in one step and stays in the map, so an occurrence recorded while
+     * flushing is counted in either this window or the next, never lost. Entries are never removed; there
+     * is at most one per exception type and throw site in the code.
+     */
+    public Map<String, Long> flush() {
+        Map<String, Long> suppressed = new LinkedHashMap<>();
+        for (Map.Entry<Site, AtomicLong> entry : occurrences.entrySet()) {
+            long total = entry.getValue().getAndSet(0);
+            long dropped = total - settings.getMaxLoggedPerWindow();
+            if (dropped > 0) {
+                suppressed.put(entry.getKey().toString(), dropped);
+                LOGGER.warn("Suppressed {} of {} occurrences of {} in the last {}",
+                        dropped, total, entry.getKey(), format(settings.getWindow()));
+            }
+        }
+        return suppressed;
+    }
+
+    private static String format(Duration window) {
+        return window.toString().substring(2).toLowerCase(Locale.ROOT);
+    }
+
+    private record Site(String type, String frame) {
+        static Site of(Throwable ex) {
+            StackTraceElement[] stackTrace = ex.getStackTrace();
+            return new Site(ex.getClass().getName(), stackTrace.length > 0 ? stackTrace[0].toString() : "?");
+        }
+
+        @Override
+        public String toString() {
+            return type + " at " + frame;
+        }
+    }
+}
@@ -1,9 +1,9 @@
 package by.onlinebanking.logging.aspect;
 
-import java.util.Arrays;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.AfterThrowing;
 import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -13,26 +13,38 @@ import org.springframework.stereotype.Component;
 public class ExceptionLoggingAspect {
     private static final Logger LOGGER = LoggerFactory.getLogger(ExceptionLoggingAspect.class);
 
+    private static final String MESSAGE = "Exception in method: {} | Args: {} | Type: {} | Msg: {} | At: {}";
+
+    private final ArgumentRenderer argumentRenderer;
+    private final ExceptionLogThrottle throttle;
+
+    public ExceptionLoggingAspect(ArgumentRenderer argumentRenderer, ExceptionLogThrottle throttle) {
+        this.argumentRenderer = argumentRenderer;
+        this.throttle = throttle;
+    }
+
     @AfterThrowing(
             pointcut = "execution(* by.onlinebanking..*.*(..)) && " +
                        "!within(by.onlinebanking.security.filter..*)",
             throwing = "ex"
     )
     public void logException(JoinPoint joinPoint, Throwable ex) {
-        String methodName = joinPoint.getSignature().toShortString();
-        Object[] args = joinPoint.getArgs();
-
-        if (LOGGER.isErrorEnabled()) {
-            LOGGER.error(
-                    "Exception in method: {} | Args: {} | Type: {} | Msg: {} | At: {}",
-                    methodName,
-                    Arrays.toString(args),
-                    ex.getClass().getSimpleName(),
-                    ex.getMessage(),
-                    ex.getStackTrace().length > 0 ? ex.getStackTrace()[0] : "?"
-            );
+        if (!LOGGER.isErrorEnabled()) {
+            return;
+        }
+        ExceptionLogThrottle.Decision decision = throttle.record(ex);
+        if (decision == ExceptionLogThrottle.Decision.SKIP || decision == ExceptionLogThrottle.Decision.SUPPRESS) {
+            return;
         }
 
-        LOGGER.debug("Full exception stack trace", ex);
+        String methodName = joinPoint.getSignature().toShortString();
+        String args = argumentRenderer.renderArguments(
+                ((MethodSignature) joinPoint.getSignature()).getMethod(), joinPoint.getArgs());
+        Object site = ex.getStackTrace().length > 0 ? ex.getStackTrace()[0] : "?";
+        if (decision == ExceptionLogThrottle.Decision.LOG_WITH_STACK_TRACE) {
+            LOGGER.error(MESSAGE, methodName, args, ex.getClass().getSimpleName(), ex.getMessage(), site, ex);
+        } else {
+            LOGGER.error(MESSAGE, methodName, args, ex.getClass().getSimpleName(), ex.getMessage(), site);
+        }
     }
-}
\ No newline at end of file
+}
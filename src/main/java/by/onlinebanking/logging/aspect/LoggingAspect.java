@@ -1,30 +1,75 @@
 package by.onlinebanking.logging.aspect;
 
+import by.onlinebanking.config.LoggingProperties;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
+/**
+ * Method tracing for controllers and services. Only a sampled share of calls is logged, per package,
+ * while calls slower than the threshold are always logged with arguments and result. Those are rendered
+ * through {@link ArgumentRenderer}, and only when a line is actually written.
+ */
 @Aspect
 @Component
 public class LoggingAspect {
     private static final Logger LOGGER = LoggerFactory.getLogger(LoggingAspect.class);
 
+    private final LoggingProperties.Tracing tracing;
+    private final ArgumentRenderer argumentRenderer;
+    private final Map<JoinPoint.StaticPart, Double> sampleRates = new ConcurrentHashMap<>();
+
+    public LoggingAspect(LoggingProperties loggingProperties, ArgumentRenderer argumentRenderer) {
+        this.tracing = loggingProperties.getTracing();
+        this.argumentRenderer = argumentRenderer;
+    }
+
     @Around("(execution(* by.onlinebanking.controller..*(..)) || " +
             "execution(* by.onlinebanking.service..*(..)) ||" +
             " execution(* by.onlinebanking.security.service..*(..))) && " +
             "!within(by.onlinebanking.logging.service.LogsService)")
     public Object logMethodExecution(ProceedingJoinPoint joinPoint) throws Throwable {
-        String methodName = joinPoint.getSignature().toShortString();
-        LOGGER.info("Method invocation: {} | Arguments: {}", methodName, joinPoint.getArgs());
+        if (!tracing.isEnabled() || !LOGGER.isWarnEnabled()) {
+            return joinPoint.proceed();
+        }
 
-        long startTime = System.currentTimeMillis();
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        boolean sampled = LOGGER.isInfoEnabled() && isSampled(joinPoint.getStaticPart());
+        if (sampled) {
+            LOGGER.info("Method invocation: {} | Arguments: {}", joinPoint.getSignature().toShortString(),
+                    argumentRenderer.lazyArguments(method, joinPoint.getArgs()));
+        }
+
+        long startTime = System.nanoTime();
         Object result = joinPoint.proceed();
-        long elapsedTime = System.currentTimeMillis() - startTime;
+        long elapsedNanos = System.nanoTime() - startTime;
 
-        LOGGER.info("Method {} completed in {} ms | Result: {}", methodName, elapsedTime, result);
+        if (elapsedNanos >= tracing.getSlowThreshold().toNanos()) {
+            LOGGER.warn("Slow method {} completed in {} ms | Arguments: {} | Result: {}",
+                    joinPoint.getSignature().toShortString(), TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                    argumentRenderer.lazyArguments(method, joinPoint.getArgs()),
+                    argumentRenderer.lazyResult(method, result));
+        } else if (sampled) {
+            LOGGER.info("Method {} completed in {} ms | Result: {}",
+                    joinPoint.getSignature().toShortString(), TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                    argumentRenderer.lazyResult(method, result));
+        }
         return result;
     }
-}
\ No newline at end of file
+
+    private boolean isSampled(JoinPoint.StaticPart staticPart) {
+        double rate = sampleRates.computeIfAbsent(staticPart,
+                part -> tracing.getSampleRate(part.getSignature().getDeclaringTypeName()));
+        return rate >= 1.0 || (rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+}
@@ -1,9 +1,11 @@
 package by.onlinebanking.logging.aspect;
 
+import java.lang.reflect.Method;
 import java.util.List;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.AfterReturning;
 import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -13,15 +15,26 @@ import org.springframework.stereotype.Component;
 public class UserActionLoggingAspect {
     private static final Logger LOGGER = LoggerFactory.getLogger(UserActionLoggingAspect.class);
 
+    private final ArgumentRenderer argumentRenderer;
+
+    public UserActionLoggingAspect(ArgumentRenderer argumentRenderer) {
+        this.argumentRenderer = argumentRenderer;
+    }
+
     @AfterReturning(
             pointcut = "execution(* by.onlinebanking.controller..*(..))",
             returning = "result"
     )
     public void logUserAction(JoinPoint joinPoint, Object result) {
+        if (!LOGGER.isInfoEnabled()) {
+            return;
+        }
         String methodName = joinPoint.getSignature().toShortString();
-        Object[] args = joinPoint.getArgs();
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
 
-        LOGGER.info("User action: {} | Arguments: {} | Result: {}", methodName, args, result);
+        LOGGER.info("User action: {} | Arguments: {} | Result: {}", methodName,
+                argumentRenderer.renderArguments(method, joinPoint.getArgs()),
+                argumentRenderer.renderResult(method, result));
     }
 
     @AfterReturning(
@@ -30,6 +43,7 @@ public class UserActionLoggingAspect {
     )
     public void logBulkCreate(JoinPoint joinPoint, Object result) {
         Object[] args = joinPoint.getArgs();
-        LOGGER.info("Bulk user creation | Count: {} | Result: {}", ((List<?>) args[0]).size(), result);
+        LOGGER.info("Bulk user creation | Count: {} | Result: {}",
+                ((List<?>) args[0]).size(), argumentRenderer.lazy(result));
     }
 }
\ No newline at end of file
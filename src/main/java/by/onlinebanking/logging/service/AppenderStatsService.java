@@ -0,0 +1,51 @@
+package by.onlinebanking.logging.service;
+
+import by.onlinebanking.logging.appender.DropCountingAsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.ILoggerFactory;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/** Queue and drop counters of the asynchronous logback appenders. */
+@Service
+public class AppenderStatsService {
+
+    public List<DropCountingAsyncAppender> getAsyncAppenders() {
+        ILoggerFactory loggerFactory = LoggerFactory.getILoggerFactory();
+        if (!(loggerFactory instanceof LoggerContext loggerContext)) {
+            return List.of();
+        }
+        Map<String, DropCountingAsyncAppender> appenders = new LinkedHashMap<>();
+        for (Logger logger : loggerContext.getLoggerList()) {
+            Iterator<Appender<ILoggingEvent>> iterator = logger.iteratorForAppenders();
+            while (iterator.hasNext()) {
+                if (iterator.next() instanceof DropCountingAsyncAppender appender) {
+                    appenders.putIfAbsent(appender.getName(), appender);
+                }
+            }
+        }
+        return List.copyOf(appenders.values());
+    }
+
+    public Map<String, Map<String, Object>> getStats() {
+        Map<String, Map<String, Object>> stats = new LinkedHashMap<>();
+        for (DropCountingAsyncAppender appender : getAsyncAppenders()) {
+            Map<String, Object> appenderStats = new LinkedHashMap<>();
+            appenderStats.put("queueSize", appender.getQueueSize());
+            appenderStats.put("queued", appender.getNumberOfElementsInQueue());
+            appenderStats.put("discardingThreshold", appender.getDiscardingThreshold());
+            appenderStats.put("neverBlock", appender.isNeverBlock());
+            appenderStats.put("discarded", appender.getDiscardedCount());
+            appenderStats.put("overflowed", appender.getOverflowCount());
+            stats.put(appender.getName(), appenderStats);
+        }
+        return stats;
+    }
+}
@@ -0,0 +1,400 @@
+package by.onlinebanking.logging.service;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.GZIPInputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Byte offsets of the first line of every {@code yyyy-MM-dd HH} hour in each log file, so date and time-range
+ * queries can seek straight to the relevant region with positional {@link FileChannel} reads.
+ * Indexes are extended incrementally as files grow; rolled files, which never change again, also get a
+ * {@code .idx} sidecar next to them so the index survives restarts.
+ * Gzip-compressed rolled files are indexed by offsets into their decompressed content: they cannot be
+ * seeked, but the index still lets queries skip files with no entries in range and stop reading early.
+ */
+class LogFileIndex {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LogFileIndex.class);
+    private static final int KEY_LENGTH = "yyyy-MM-dd HH".length();
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String SIDECAR_SUFFIX = ".idx";
+    private static final String SIDECAR_VERSION = "v1";
+    private static final String GZIP_SUFFIX = ".gz";
+
+    private final Map<Path, FileIndex> indexes = new ConcurrentHashMap<>();
+
+    /** Region of the file holding the lines of the given date, or {@code null} if the file has none. */
+    Region regionForDate(Path file, LocalDate date, boolean persist) throws IOException {
+        return regionFor(file, date + " 00", date + " 23", persist);
+    }
+
+    /** Region covering every hour key between {@code fromKey} and {@code toKey} inclusive. */
+    Region regionFor(Path file, String fromKey, String toKey, boolean persist) throws IOException {
+        FileIndex index = refresh(file, persist);
+        synchronized (index) {
+            NavigableMap<String, Long> inRange = index.hourOffsets.subMap(fromKey, true, toKey, true);
+            if (inRange.isEmpty()) {
+                return null;
+            }
+            long start = inRange.values().stream().min(Long::compare).orElseThrow();
+            long end = index.hourOffsets.tailMap(toKey, false).values().stream()
+                    .filter(offset -> offset > start)
+                    .min(Long::compare)
+                    .orElse(Long.MAX_VALUE);
+            return new Region(start, end);
+        }
+    }
+
+    /** Lazily decodes the lines of a region; the returned stream must be closed. */
+    Stream<String> lines(Path file, Region region) throws IOException {
+        RegionLineIterator iterator = open(file, region);
+        return StreamSupport.stream(
+                        Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(iterator::close);
+    }
+
+    /** Opens a line iterator over the region that also reports the byte offset of each line; must be closed. */
+    RegionLineIterator open(Path file, Region region) throws IOException {
+        return new RegionLineIterator(openChannel(file, region.start()), region.start(), region.end());
+    }
+
+    static boolean isCompressed(Path file) {
+        return file.getFileName().toString().endsWith(GZIP_SUFFIX);
+    }
+
+    /** Sequential channel over the (decompressed) content of the file, positioned at the given offset. */
+    private static ReadableByteChannel openChannel(Path file, long position) throws IOException {
+        if (!isCompressed(file)) {
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+            channel.position(position);
+            return channel;
+        }
+        InputStream in = new GZIPInputStream(Files.newInputStream(file), BUFFER_SIZE);
+        try {
+            in.skipNBytes(position);
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+        return Channels.newChannel(in);
+    }
+
+    /** Drops in-memory entries and sidecars whose log file no longer exists. */
+    void pruneMissing(Path logDir) {
+        indexes.keySet().removeIf(file -> !Files.exists(file));
+        if (logDir == null || !Files.isDirectory(logDir)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.list(logDir)) {
+            paths.filter(path -> path.getFileName().toString().endsWith(SIDECAR_SUFFIX))
+                    .filter(sidecar -> !Files.exists(logFileOf(sidecar)))
+                    .forEach(this::deleteQuietly);
+        } catch (IOException e) {
+            LOGGER.warn("Failed to prune log index sidecars in {}: {}", logDir, e.getMessage());
+        }
+    }
+
+    private FileIndex refresh(Path file, boolean persist) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        Object identity = attributes.fileKey() != null ? attributes.fileKey() : attributes.creationTime();
+        FileIndex index = indexes.compute(file, (path, existing) ->
+                existing != null && Objects.equals(existing.identity, identity)
+                        ? existing
+                        : loadSidecar(path, identity, attributes));
+
+        synchronized (index) {
+            long size = attributes.size();
+            if (size < index.scannedSize || (size != index.scannedSize && isCompressed(file))) {
+                // Truncated, replaced, or a compressed file, which can only be rescanned from the start
+                index.reset();
+            }
+            if (size > index.scannedSize) {
+                scan(file, index);
+                index.scannedSize = size;
+                if (persist) {
+                    writeSidecar(file, index, attributes);
+                }
+            }
+        }
+        return index;
+    }
+
+    private void scan(Path file, FileIndex index) throws IOException {
+        try (ReadableByteChannel channel = openChannel(file, index.indexedLength)) {
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            byte[] head = new byte[KEY_LENGTH];
+            int headLength = 0;
+            long position = index.indexedLength;
+            long lineStart = position;
+
+            while (channel.read(buffer) >= 0) {
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    byte b = buffer.get();
+                    position++;
+                    if (b == '\n') {
+                        lineStart = position;
+                        index.indexedLength = position;
+                        headLength = 0;
+                    } else if (headLength < KEY_LENGTH) {
+                        head[headLength++] = b;
+                        if (headLength == KEY_LENGTH) {
+                            index.record(head, lineStart);
+                        }
+                    }
+                }
+                buffer.clear();
+            }
+        }
+    }
+
+    private FileIndex loadSidecar(Path file, Object identity, BasicFileAttributes attributes) {
+        FileIndex index = new FileIndex(identity);
+        Path sidecar = sidecarOf(file);
+        if (!Files.exists(sidecar)) {
+            return index;
+        }
+        try {
+            List<String> lines = Files.readAllLines(sidecar, StandardCharsets.US_ASCII);
+            String[] header = lines.isEmpty() ? new String[0] : lines.get(0).split(" ");
+            if (header.length != 3 || !SIDECAR_VERSION.equals(header[0])
+                    || Long.parseLong(header[1]) != attributes.size()
+                    || Long.parseLong(header[2]) != attributes.lastModifiedTime().toMillis()) {
+                return index;
+            }
+            for (String line : lines.subList(1, lines.size())) {
+                int separator = line.lastIndexOf(' ');
+                index.hourOffsets.put(line.substring(0, separator), Long.parseLong(line.substring(separator + 1)));
+            }
+            index.scannedSize = attributes.size();
+            index.indexedLength = isCompressed(file) ? 0 : attributes.size();
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Ignoring unreadable log index {}: {}", sidecar, e.getMessage());
+            index.reset();
+        }
+        return index;
+    }
+
+    private void writeSidecar(Path file, FileIndex index, BasicFileAttributes attributes) {
+        // Only fully indexed files are persisted; a trailing line without newline is re-scanned next time
+        if (!isCompressed(file) && index.indexedLength != attributes.size()) {
+            return;
+        }
+        Path sidecar = sidecarOf(file);
+        try (BufferedWriter writer = Files.newBufferedWriter(sidecar, StandardCharsets.US_ASCII)) {
+            writer.write(SIDECAR_VERSION + " " + attributes.size() + " " + attributes.lastModifiedTime().toMillis());
+            writer.newLine();
+            for (Map.Entry<String, Long> entry : index.hourOffsets.entrySet()) {
+                writer.write(entry.getKey() + " " + entry.getValue());
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Failed to write log index {}: {}", sidecar, e.getMessage());
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            LOGGER.warn("Failed to delete {}: {}", path, e.getMessage());
+        }
+    }
+
+    private static Path sidecarOf(Path file) {
+        return file.resolveSibling("." + file.getFileName() + SIDECAR_SUFFIX);
+    }
+
+    private static Path logFileOf(Path sidecar) {
+        String name = sidecar.getFileName().toString();
+        return sidecar.resolveSibling(name.substring(1, name.length() - SIDECAR_SUFFIX.length()));
+    }
+
+    record Region(long start, long end) {
+        Region resumeAt(long offset) {
+            return new Region(Math.max(start, offset), end);
+        }
+    }
+
+    private static final class FileIndex {
+        private final Object identity;
+        private final TreeMap<String, Long> hourOffsets = new TreeMap<>();
+        private long indexedLength;
+        private long scannedSize;
+        private String lastKey;
+
+        FileIndex(Object identity) {
+            this.identity = identity;
+        }
+
+        void record(byte[] head, long lineStart) {
+            if (!isHourKey(head)) {
+                return;
+            }
+            String key = new String(head, StandardCharsets.US_ASCII);
+            if (!key.equals(lastKey)) {
+                hourOffsets.putIfAbsent(key, lineStart);
+                lastKey = key;
+            }
+        }
+
+        void reset() {
+            hourOffsets.clear();
+            indexedLength = 0;
+            scannedSize = 0;
+            lastKey = null;
+        }
+
+        private static boolean isHourKey(byte[] head) {
+            for (int i = 0; i < head.length; i++) {
+                byte b = head[i];
+                boolean valid = switch (i) {
+                    case 4, 7 -> b == '-';
+                    case 10 -> b == ' ';
+                    default -> b >= '0' && b <= '9';
+                };
+                if (!valid) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    static final class RegionLineIterator implements Iterator<String>, Closeable {
+        private final ReadableByteChannel channel;
+        private final long end;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        private long position;
+        private byte[] line = new byte[256];
+        private int lineLength;
+        private String next;
+        private long nextOffset;
+        private long lineOffset;
+        private boolean exhausted;
+
+        RegionLineIterator(ReadableByteChannel channel, long start, long end) {
+            this.channel = channel;
+            this.position = start;
+            this.end = end;
+            buffer.limit(0);
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !exhausted) {
+                next = readLine();
+            }
+            return next != null;
+        }
+
+        @Override
+        public String next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            String result = next;
+            lineOffset = nextOffset;
+            next = null;
+            return result;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super String> action) {
+            while (hasNext()) {
+                action.accept(next());
+            }
+        }
+
+        /** Byte offset at which the line last returned by {@link #next()} starts. */
+        long lineOffset() {
+            return lineOffset;
+        }
+
+        @Override
+        public void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private String readLine() {
+            lineLength = 0;
+            nextOffset = position - buffer.remaining();
+            try {
+                while (true) {
+                    if (!buffer.hasRemaining() && !fill()) {
+                        exhausted = true;
+                        return lineLength > 0 ? decode() : null;
+                    }
+                    byte b = buffer.get();
+                    if (b == '\n') {
+                        return decode();
+                    }
+                    append(b);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private boolean fill() throws IOException {
+            if (position >= end) {
+                return false;
+            }
+            buffer.clear();
+            if (end - position < buffer.capacity()) {
+                buffer.limit((int) (end - position));
+            }
+            int read = channel.read(buffer);
+            buffer.flip();
+            if (read <= 0) {
+                return false;
+            }
+            position += read;
+            return true;
+        }
+
+        private void append(byte b) {
+            if (lineLength == line.length) {
+                line = Arrays.copyOf(line, line.length * 2);
+            }
+            line[lineLength++] = b;
+        }
+
+        private String decode() {
+            int length = lineLength > 0 && line[lineLength - 1] == '\r' ? lineLength - 1 : lineLength;
+            return new String(line, 0, length, StandardCharsets.UTF_8);
+        }
+    }
+}
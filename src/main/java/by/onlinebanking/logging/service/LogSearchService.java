@@ -0,0 +1,312 @@
+package by.onlinebanking.logging.service;
+
+import by.onlinebanking.dto.log.LogEntryDto;
+import by.onlinebanking.dto.log.LogSearchResponseDto;
+import by.onlinebanking.exception.BusinessException;
+import by.onlinebanking.exception.ValidationException;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.slf4j.event.Level;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Time-range search over the log files. Each file is scanned by its own task, seeking through the
+ * {@link LogFileIndex}, and collects at most {@code limit} matches; the per-file results are then merged
+ * in timestamp order. The returned cursor holds the byte offset to resume from in every file that still
+ * has unread entries, so the next page continues where this one stopped instead of rescanning.
+ */
+@Service
+public class LogSearchService {
+    private static final int DEFAULT_LIMIT = 100;
+    private static final int MAX_LIMIT = 1000;
+    private static final long MAX_RANGE_DAYS = 7;
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final Pattern ENTRY_PATTERN =
+            Pattern.compile("^(\\d{4}-\\d{2}-\\d{2} \\d{2}:\\d{2}:\\d{2}) \\[(.*?)] (\\S+)\\s+(\\S+)"
+                    + "(?: \\[([^\\]]*)])? - (.*)$");
+    private static final String CURSOR = "cursor";
+
+    private final LogsService logsService;
+    private final ExecutorService searchExecutor;
+
+    public LogSearchService(LogsService logsService,
+                            @Value("${app.logs.search.parallelism:4}") int parallelism) {
+        this.logsService = logsService;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.searchExecutor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "log-search-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        searchExecutor.shutdownNow();
+    }
+
+    public LogSearchResponseDto search(LocalDateTime from, LocalDateTime to, String level, String logger,
+                                       String requestId, String contains, Integer limit, String cursor) {
+        Query query = buildQuery(from, to, level, logger, requestId, contains, limit);
+        Map<String, Long> resumeOffsets = cursor == null ? null : decodeCursor(cursor);
+
+        List<Path> files;
+        try {
+            files = logsService.getLogFilesForRange(from.toLocalDate(), to.toLocalDate());
+        } catch (IOException e) {
+            return new LogSearchResponseDto(Collections.emptyList(), null);
+        }
+
+        List<Future<FileMatches>> futures = new ArrayList<>();
+        for (int i = 0; i < files.size(); i++) {
+            Path file = files.get(i);
+            String name = file.getFileName().toString();
+            if (resumeOffsets != null && !resumeOffsets.containsKey(name)) {
+                continue;
+            }
+            int order = i;
+            Long resumeOffset = resumeOffsets == null ? null : resumeOffsets.get(name);
+            Callable<FileMatches> task = () -> scanFile(file, order, query, resumeOffset);
+            futures.add(searchExecutor.submit(task));
+        }
+
+        List<FileMatches> results = new ArrayList<>(futures.size());
+        for (Future<FileMatches> future : futures) {
+            results.add(await(future));
+        }
+        return merge(results, query.limit());
+    }
+
+    public LocalDateTime parseDateTime(String value, String field) {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException ex) {
+            throw new ValidationException("Invalid date-time format (yyyy-MM-ddTHH:mm:ss)").addDetail(field, value);
+        }
+    }
+
+    private Query buildQuery(LocalDateTime from, LocalDateTime to, String level, String logger,
+                             String requestId, String contains, Integer limit) {
+        if (to.isBefore(from)) {
+            throw new ValidationException("'to' must not be before 'from'")
+                    .addDetail("from", from)
+                    .addDetail("to", to);
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new ValidationException("Search range is too long")
+                    .addDetail("maxDays", MAX_RANGE_DAYS);
+        }
+        int effectiveLimit = limit == null ? DEFAULT_LIMIT : limit;
+        if (effectiveLimit < 1 || effectiveLimit > MAX_LIMIT) {
+            throw new ValidationException("Limit is out of range")
+                    .addDetail("limit", limit)
+                    .addDetail("max", MAX_LIMIT);
+        }
+        return new Query(TIMESTAMP.format(from), TIMESTAMP.format(to), parseLevel(level),
+                blankToNull(logger), blankToNull(requestId), blankToNull(contains), effectiveLimit);
+    }
+
+    private Level parseLevel(String level) {
+        if (level == null || level.isBlank()) {
+            return null;
+        }
+        try {
+            return Level.valueOf(level.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Unknown log level").addDetail("level", level);
+        }
+    }
+
+    private FileMatches scanFile(Path file, int order, Query query, Long resumeOffset) throws IOException {
+        LogFileIndex index = logsService.getLogFileIndex();
+        LogFileIndex.Region region = index.regionFor(file, query.from().substring(0, 13),
+                query.to().substring(0, 13), !logsService.isCurrentLogFile(file));
+        FileMatches matches = new FileMatches(file.getFileName().toString(), order);
+        if (region == null) {
+            return matches;
+        }
+        if (resumeOffset != null) {
+            region = region.resumeAt(resumeOffset);
+        }
+
+        try (LogFileIndex.RegionLineIterator lines = index.open(file, region)) {
+            PendingEntry pending = null;
+            while (lines.hasNext()) {
+                String line = lines.next();
+                Matcher matcher = ENTRY_PATTERN.matcher(line);
+                if (!matcher.matches()) {
+                    if (pending != null) {
+                        pending.message.append('\n').append(line);
+                    }
+                    continue;
+                }
+
+                if (pending != null && query.accepts(pending)) {
+                    matches.entries.add(pending);
+                }
+                pending = null;
+                String timestamp = matcher.group(1);
+                if (timestamp.compareTo(query.to()) > 0) {
+                    return matches;
+                }
+                if (matches.entries.size() == query.limit()) {
+                    matches.resumeOffset = lines.lineOffset();
+                    return matches;
+                }
+                if (timestamp.compareTo(query.from()) >= 0) {
+                    pending = new PendingEntry(lines.lineOffset(), timestamp, matcher.group(2), matcher.group(3),
+                            matcher.group(4), blankToNull(matcher.group(5)), new StringBuilder(matcher.group(6)));
+                }
+            }
+            if (pending != null && query.accepts(pending)) {
+                matches.entries.add(pending);
+            }
+        }
+        return matches;
+    }
+
+    private LogSearchResponseDto merge(List<FileMatches> results, int limit) {
+        // Equal timestamps keep file order, so entries of a rolled file come before the next file's
+        PriorityQueue<FileMatches> heads = new PriorityQueue<>(
+                Comparator.comparing((FileMatches matches) -> matches.head().timestamp())
+                        .thenComparingInt(matches -> matches.order));
+        results.stream().filter(FileMatches::hasHead).forEach(heads::add);
+
+        List<LogEntryDto> entries = new ArrayList<>();
+        while (entries.size() < limit && !heads.isEmpty()) {
+            FileMatches next = heads.poll();
+            entries.add(next.head().toDto());
+            next.position++;
+            if (next.hasHead()) {
+                heads.add(next);
+            }
+        }
+
+        Map<String, Long> cursor = new LinkedHashMap<>();
+        for (FileMatches matches : results) {
+            if (matches.hasHead()) {
+                cursor.put(matches.fileName, matches.head().offset());
+            } else if (matches.resumeOffset != null) {
+                cursor.put(matches.fileName, matches.resumeOffset);
+            }
+        }
+        return new LogSearchResponseDto(entries, cursor.isEmpty() ? null : encodeCursor(cursor));
+    }
+
+    private FileMatches await(Future<FileMatches> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException("Log search was interrupted");
+        } catch (ExecutionException e) {
+            throw new BusinessException("Log search failed")
+                    .addDetail("error", e.getCause().getMessage());
+        }
+    }
+
+    private String encodeCursor(Map<String, Long> offsets) {
+        StringBuilder builder = new StringBuilder();
+        offsets.forEach((file, offset) -> builder.append(file).append('=').append(offset).append('\n'));
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(builder.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Map<String, Long> decodeCursor(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            Map<String, Long> offsets = new LinkedHashMap<>();
+            for (String entry : decoded.split("\n")) {
+                int separator = entry.lastIndexOf('=');
+                String file = entry.substring(0, separator);
+                if (file.contains("/") || file.contains("\\")) {
+                    throw new IllegalArgumentException("Invalid file name");
+                }
+                offsets.put(file, Long.parseLong(entry.substring(separator + 1)));
+            }
+            return offsets;
+        } catch (RuntimeException e) {
+            throw new ValidationException("Invalid cursor").addDetail(CURSOR, cursor);
+        }
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+
+    private record Query(String from, String to, Level minLevel, String logger, String requestId,
+                         String contains, int limit) {
+        boolean accepts(PendingEntry entry) {
+            if (requestId != null && !requestId.equals(entry.requestId())) {
+                return false;
+            }
+            if (minLevel != null && !isAtLeast(entry.level())) {
+                return false;
+            }
+            if (logger != null && !entry.logger().contains(logger)) {
+                return false;
+            }
+            return contains == null || entry.message().indexOf(contains) >= 0;
+        }
+
+        private boolean isAtLeast(String level) {
+            try {
+                return Level.valueOf(level).toInt() >= minLevel.toInt();
+            } catch (IllegalArgumentException e) {
+                return false;
+            }
+        }
+    }
+
+    private record PendingEntry(long offset, String timestamp, String thread, String level, String logger,
+                                String requestId, StringBuilder message) {
+        LogEntryDto toDto() {
+            return new LogEntryDto(timestamp, level, thread, logger, requestId, message.toString());
+        }
+    }
+
+    private static final class FileMatches {
+        private final String fileName;
+        private final int order;
+        private final List<PendingEntry> entries = new ArrayList<>();
+        private Long resumeOffset;
+        private int position;
+
+        FileMatches(String fileName, int order) {
+            this.fileName = fileName;
+            this.order = order;
+        }
+
+        boolean hasHead() {
+            return position < entries.size();
+        }
+
+        PendingEntry head() {
+            return entries.get(position);
+        }
+    }
+}
@@ -2,10 +2,20 @@ package by.onlinebanking.logging.service;
 
 import by.onlinebanking.exception.BusinessException;
 import by.onlinebanking.exception.NotFoundException;
+import by.onlinebanking.exception.TooManyRequestsException;
 import by.onlinebanking.exception.ValidationException;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.ClosedByInterruptException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -16,40 +26,82 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.stereotype.Service;
 
 @Service
 public class LogsService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LogsService.class);
     private static final long TASK_TTL_MINUTES = 1;
+    private static final long PAST_DAY_TTL_MINUTES = 30;
     private static final long CLEANUP_INTERVAL_MINUTES = 1;
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 5;
     private static final String LOGS = "logs_";
     private static final String TASK_ID = "taskId";
     private static final String STATUS = "status";
 
     @Value("${logging.file.path:logs/application.current.log}")
     private String logFilePath;
+    @Value("${app.logs.export.dir:}")
+    private String exportDir;
+    @Value("${app.logs.export.gzip:false}")
+    private boolean gzipExports;
+    private final LogFileIndex logFileIndex = new LogFileIndex();
+    @Value("${app.logs.export.pool-size:2}")
+    private int exportPoolSize = 2;
+    @Value("${app.logs.export.queue-capacity:10}")
+    private int exportQueueCapacity = 10;
+    @Value("${app.logs.export.max-tasks:100}")
+    private int maxTasks = 100;
     private final Map<String, TaskWrapper> tasks = new ConcurrentHashMap<>();
+    private final Map<LocalDate, String> taskIdsByDate = new ConcurrentHashMap<>();
+    private final Set<Path> exportsInProgress = ConcurrentHashMap.newKeySet();
     private final ScheduledExecutorService cleanupExecutor = Executors.newSingleThreadScheduledExecutor();
+    private ThreadPoolExecutor exportExecutor;
 
     @PostConstruct
     public void init() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        exportExecutor = new ThreadPoolExecutor(
+                exportPoolSize,
+                exportPoolSize,
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(exportQueueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "log-export-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
         cleanupExecutor.scheduleAtFixedRate(
                 this::cleanupOldTasks,
                 CLEANUP_INTERVAL_MINUTES,
@@ -58,48 +110,150 @@ public class LogsService {
         );
     }
 
+    /**
+     * Interrupts running exports and waits for them to delete their partial files. Files of exports
+     * that do not stop in time, or that finish after their task was cancelled, are deleted here,
+     * so a shutdown never leaves temp files behind.
+     */
     @PreDestroy
     public void cleanup() {
+        if (exportExecutor != null) {
+            exportExecutor.shutdownNow();
+            awaitTermination(exportExecutor);
+        }
+        tasks.values().forEach(TaskWrapper::discard);
+        tasks.clear();
+        taskIdsByDate.clear();
+        exportsInProgress.forEach(LogsService::deleteQuietly);
+        exportsInProgress.clear();
         cleanupExecutor.shutdown();
+        awaitTermination(cleanupExecutor);
+    }
+
+    private void awaitTermination(ExecutorService executor) {
         try {
-            if (!cleanupExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
-                cleanupExecutor.shutdownNow();
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
             }
         } catch (InterruptedException e) {
-            cleanupExecutor.shutdownNow();
+            executor.shutdownNow();
             Thread.currentThread().interrupt();
         }
     }
 
+    /**
+     * Starts an export for the date, or returns the id of an export for the same date that is still running.
+     * Finished exports of past days are immutable and are reused until their longer TTL expires.
+     */
     public String createLogFileAsync(LocalDate date) {
-        String taskId = UUID.randomUUID().toString();
-        CompletableFuture<LogFileResult> future = CompletableFuture.supplyAsync(() -> {
-            try {
-                List<String> logs = getLogsForDate(date);
-                String filename = LOGS + date + ".log";
+        if (tasks.size() >= maxTasks) {
+            cleanupOldTasks();
+            if (tasks.size() >= maxTasks) {
+                throw new TooManyRequestsException("Too many log export tasks")
+                        .addDetail("maxTasks", maxTasks);
+            }
+        }
+        return taskIdsByDate.compute(date, (key, existingId) -> {
+            TaskWrapper existing = existingId == null ? null : tasks.get(existingId);
+            if (existing != null && existing.isReusable(System.currentTimeMillis())) {
+                return existingId;
+            }
+            return submitExport(date);
+        });
+    }
 
-                if (logs.isEmpty()) {
-                    return new LogFileResult(new ByteArrayResource(new byte[0]),
-                            LOGS + date + ".log");
+    private String submitExport(LocalDate date) {
+        CompletableFuture<LogFileResult> future;
+        try {
+            future = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return writeLogFile(date);
+                } catch (Exception e) {
+                    throw new CompletionException("Failed to create log file", e);
                 }
+            }, exportExecutor);
+        } catch (RejectedExecutionException e) {
+            throw new TooManyRequestsException("Log export queue is full, try again later")
+                    .addDetail("date", date);
+        }
 
-                String content = String.join("\n", logs);
-                ByteArrayResource resource = new ByteArrayResource(content.getBytes(StandardCharsets.UTF_8)) {
-                    @Override
-                    public String getFilename() {
-                        return filename;
-                    }
-                };
-                return new LogFileResult(resource, filename);
-            } catch (Exception e) {
-                throw new CompletionException("Failed to create log file", e);
+        future.thenAccept(result -> {
+            if (!result.isEmpty()) {
+                exportsInProgress.remove(result.getFile());
             }
         });
 
-        tasks.put(taskId, new TaskWrapper(future));
+        String taskId = UUID.randomUUID().toString();
+        long ttlMinutes = date.isBefore(LocalDate.now()) ? PAST_DAY_TTL_MINUTES : TASK_TTL_MINUTES;
+        tasks.put(taskId, new TaskWrapper(date, future, ttlMinutes));
         return taskId;
     }
 
+    /**
+     * Streams the matching lines of every log file for the date into a temporary file,
+     * so memory use stays constant regardless of how large the day's logs are.
+     */
+    private LogFileResult writeLogFile(LocalDate date) throws IOException {
+        String filename = LOGS + date + (gzipExports ? ".log.gz" : ".log");
+        Path exportFile = createExportFile(date);
+        exportsInProgress.add(exportFile);
+        long matchedLines = 0;
+
+        try (Writer writer = openExportWriter(exportFile)) {
+            for (Path file : getLogFilesForDate(date)) {
+                try (Stream<String> lines = readLinesForDate(file, date)) {
+                    Iterator<String> iterator = lines.filter(line -> isLineDateMatch(line, date)).iterator();
+                    while (iterator.hasNext()) {
+                        if (Thread.currentThread().isInterrupted()) {
+                            throw new InterruptedIOException("Log export cancelled");
+                        }
+                        if (matchedLines++ > 0) {
+                            writer.write('\n');
+                        }
+                        writer.write(iterator.next());
+                    }
+                } catch (UncheckedIOException e) {
+                    if (isInterruption(e.getCause())) {
+                        throw e.getCause();
+                    }
+                    LOGGER.warn("Skipping unreadable log file {}: {}", file, e.getMessage());
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            deleteExport(exportFile);
+            throw e;
+        }
+
+        if (matchedLines == 0) {
+            deleteExport(exportFile);
+            return LogFileResult.empty(filename);
+        }
+        // Stays tracked until the completed task owns it, see submitExport
+        return new LogFileResult(exportFile, filename, gzipExports);
+    }
+
+    private void deleteExport(Path exportFile) throws IOException {
+        Files.deleteIfExists(exportFile);
+        exportsInProgress.remove(exportFile);
+    }
+
+    private Path createExportFile(LocalDate date) throws IOException {
+        String prefix = LOGS + date + "_";
+        if (exportDir == null || exportDir.isBlank()) {
+            return Files.createTempFile(prefix, ".tmp");
+        }
+        Path dir = Files.createDirectories(Paths.get(exportDir));
+        return Files.createTempFile(dir, prefix, ".tmp");
+    }
+
+    private Writer openExportWriter(Path exportFile) throws IOException {
+        OutputStream out = Files.newOutputStream(exportFile);
+        if (gzipExports) {
+            out = new GZIPOutputStream(out, 64 * 1024);
+        }
+        return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+    }
+
     public Map<String, Object> getTaskStatus(String taskId) {
         TaskWrapper wrapper = tasks.get(taskId);
         if (wrapper == null || wrapper.isExpired(System.currentTimeMillis())) {
@@ -164,14 +318,19 @@ public class LogsService {
 
             if (wrapper.isCompleted && wrapper.isExpired(currentTime)) {
                 iterator.remove();
+                taskIdsByDate.remove(wrapper.date, entry.getKey());
+                wrapper.discard();
             }
         }
+        if (logFilePath != null) {
+            logFileIndex.pruneMissing(Paths.get(logFilePath).getParent());
+        }
     }
 
     public List<String> getLogsForDate(LocalDate date) {
         try {
             return getLogFilesForDate(date).stream()
-                    .flatMap(this::readLinesSafely)
+                    .flatMap(file -> readLinesForDate(file, date))
                     .filter(line -> isLineDateMatch(line, date))
                     .toList();
         } catch (IOException e) {
@@ -179,14 +338,57 @@ public class LogsService {
         }
     }
 
+    /**
+     * Reads only the region of the file indexed under the date, falling back to a full scan if indexing fails.
+     * The current file keeps growing, so its index is kept in memory only. An interrupted read is not a failure
+     * of the index: the interrupt flag is restored and the read aborted instead of scanning the whole file.
+     */
+    private Stream<String> readLinesForDate(Path file, LocalDate date) {
+        try {
+            LogFileIndex.Region region = logFileIndex.regionForDate(file, date, !isCurrentLogFile(file));
+            return region == null ? Stream.empty() : logFileIndex.lines(file, region);
+        } catch (ClosedByInterruptException | InterruptedIOException e) {
+            Thread.currentThread().interrupt();
+            throw new UncheckedIOException(e);
+        } catch (IOException e) {
+            LOGGER.warn("Falling back to a full scan of {}: {}", file, e.getMessage());
+            return readLinesSafely(file);
+        }
+    }
+
+    private static boolean isInterruption(IOException e) {
+        return e instanceof ClosedByInterruptException || e instanceof InterruptedIOException;
+    }
+
     private Stream<String> readLinesSafely(Path file) {
         try {
+            if (LogFileIndex.isCompressed(file)) {
+                BufferedReader reader = new BufferedReader(new InputStreamReader(
+                        new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8));
+                return reader.lines().onClose(() -> closeQuietly(reader));
+            }
             return Files.lines(file);
         } catch (IOException e) {
             return Stream.empty();
         }
     }
 
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOGGER.warn("Failed to delete log export {}: {}", file, e.getMessage());
+        }
+    }
+
+    private void closeQuietly(BufferedReader reader) {
+        try {
+            reader.close();
+        } catch (IOException e) {
+            LOGGER.warn("Failed to close log reader: {}", e.getMessage());
+        }
+    }
+
     private boolean isLineDateMatch(String line, LocalDate targetDate) {
         return line.length() >= 10 && line.startsWith(targetDate.toString());
     }
@@ -227,9 +429,36 @@ public class LogsService {
         }
     }
 
+    /** Log files that may hold entries between the dates, oldest first; the current file is always last. */
+    List<Path> getLogFilesForRange(LocalDate from, LocalDate to) throws IOException {
+        Set<Path> files = new LinkedHashSet<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            files.addAll(getLogFilesForDate(date));
+        }
+        Path currentFile = Paths.get(logFilePath);
+        files.remove(currentFile);
+        if (Files.exists(currentFile)) {
+            files.add(currentFile);
+        }
+        return new ArrayList<>(files);
+    }
+
+    boolean isCurrentLogFile(Path file) {
+        return file.equals(Paths.get(logFilePath));
+    }
+
+    LogFileIndex getLogFileIndex() {
+        return logFileIndex;
+    }
+
     private boolean isRelevantLogFile(Path path, LocalDate targetDate) {
         String fileName = path.getFileName().toString();
-        return fileName.matches("application\\." + targetDate + "\\.\\d+\\.log");
+        if (!fileName.matches("application\\." + targetDate + "\\.\\d+\\.log(\\.gz)?")) {
+            return false;
+        }
+        // While logback is still compressing a rolled file both copies exist; the plain one is complete
+        return !LogFileIndex.isCompressed(path)
+                || !Files.exists(path.resolveSibling(fileName.substring(0, fileName.length() - ".gz".length())));
     }
 
     private int compareLogFiles(Path p1, Path p2) {
@@ -239,47 +468,61 @@ public class LogsService {
     }
 
     private int extractFileIndex(String filename) {
-        Matcher m = Pattern.compile("\\.(\\d+)\\.log$").matcher(filename);
+        Matcher m = Pattern.compile("\\.(\\d+)\\.log(\\.gz)?$").matcher(filename);
         return m.find() ? Integer.parseInt(m.group(1)) : 0;
     }
 
     @Getter
     public static class LogFileResult {
-        private final ByteArrayResource resource;
+        private final Path file;
         private final String filename;
         private final boolean isEmpty;
+        private final boolean isCompressed;
 
-        public LogFileResult(ByteArrayResource resource, String filename) {
-            this.resource = resource;
+        public LogFileResult(Path file, String filename, boolean isCompressed) {
+            this.file = file;
             this.filename = filename;
-            this.isEmpty = resource.contentLength() == 0;
+            this.isEmpty = file == null;
+            this.isCompressed = isCompressed;
+        }
+
+        static LogFileResult empty(String filename) {
+            return new LogFileResult(null, filename, false);
         }
 
-        public ByteArrayResource getResource() {
+        public FileSystemResource getResource() {
             if (isEmpty) {
                 throw new IllegalStateException("No resource available (empty logs)");
             }
-            return resource;
+            return new FileSystemResource(file);
         }
 
-        public long getContentLength() {
-            return isEmpty ? 0 : resource.contentLength();
+        public long getContentLength() throws IOException {
+            return isEmpty ? 0 : Files.size(file);
+        }
+
+        void delete() {
+            if (file != null) {
+                deleteQuietly(file);
+            }
         }
     }
 
     private static class TaskWrapper {
+        private final LocalDate date;
         private final CompletableFuture<LogFileResult> future;
         private volatile long expirationTime;
-        private boolean isCompleted = false;
+        private volatile boolean isCompleted = false;
 
-        TaskWrapper(CompletableFuture<LogFileResult> future) {
+        TaskWrapper(LocalDate date, CompletableFuture<LogFileResult> future, long ttlMinutes) {
+            this.date = date;
             this.future = future;
             this.expirationTime = Long.MAX_VALUE;
 
             future.whenComplete((result, ex) -> {
                 this.isCompleted = true;
                 this.expirationTime = System.currentTimeMillis() +
-                        TimeUnit.MINUTES.toMillis(TASK_TTL_MINUTES);
+                        TimeUnit.MINUTES.toMillis(ttlMinutes);
             });
         }
 
@@ -287,6 +530,14 @@ public class LogsService {
             return currentTime > expirationTime;
         }
 
+        /** Running exports are always shared; finished ones only for past days, whose logs no longer change. */
+        boolean isReusable(long currentTime) {
+            if (isExpired(currentTime) || future.isCompletedExceptionally()) {
+                return false;
+            }
+            return !future.isDone() || date.isBefore(LocalDate.now());
+        }
+
         long calculateRemainingTime() {
             long remaining = expirationTime - System.currentTimeMillis();
             return TimeUnit.MILLISECONDS.toSeconds(Math.max(remaining, 0));
@@ -299,5 +550,11 @@ public class LogsService {
         LogFileResult getResult() throws ExecutionException, InterruptedException {
             return future.get();
         }
+
+        /** Deletes the result file, now or once the export finishes; exports that never ran are cancelled. */
+        void discard() {
+            future.cancel(false);
+            future.thenAccept(LogFileResult::delete);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package by.onlinebanking.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Component;
+
+/**
+ * Binds Caffeine statistics for caches that Spring Boot's cache metrics skip: it only recognizes plain
+ * {@link CaffeineCache}s, while {@code users} is wrapped in a {@code SnapshotClearingCache}.
+ */
+@Component
+public class CacheMetrics implements MeterBinder {
+    private final CacheManager cacheManager;
+
+    public CacheMetrics(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null && !(cache instanceof CaffeineCache)
+                    && cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache) {
+                CaffeineCacheMetrics.monitor(registry, nativeCache, name,
+                        "cache.manager", "cacheManager", "name", name);
+            }
+        }
+    }
+}
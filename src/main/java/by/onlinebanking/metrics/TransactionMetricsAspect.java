@@ -0,0 +1,54 @@
+package by.onlinebanking.metrics;
+
+import by.onlinebanking.dto.transaction.BaseTransactionDto;
+import by.onlinebanking.exception.ApiException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times {@code TransactionService.processTransaction} as {@code banking_transactions_seconds}, tagged with
+ * the transaction type and the outcome: {@code success}, {@code rejected} for business and validation errors,
+ * or {@code error}. Runs outside the transactional proxy, so commit time and commit failures are included.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TransactionMetricsAspect {
+    private static final String NONE = "none";
+
+    private final MeterRegistry meterRegistry;
+
+    public TransactionMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(* by.onlinebanking.service.TransactionService.processTransaction(..)) && args(transaction)")
+    public Object timeTransaction(ProceedingJoinPoint joinPoint, BaseTransactionDto transaction) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        String exception = NONE;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable ex) {
+            outcome = ex instanceof ApiException ? "rejected" : "error";
+            exception = ex.getClass().getSimpleName();
+            throw ex;
+        } finally {
+            String type = transaction == null || transaction.getTransactionType() == null
+                    ? NONE : transaction.getTransactionType().name();
+            sample.stop(Timer.builder("banking.transactions")
+                    .description("Processed transactions")
+                    .tag("type", type)
+                    .tag("outcome", outcome)
+                    .tag("exception", exception)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package by.onlinebanking.metrics;
+
+import by.onlinebanking.stats.VisitStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the {@link VisitStats} route totals as {@code banking_route_visits_total{route=...}}. Counters
+ * read the existing {@code LongAdder}s at scrape time; there is one per route, so the series count is bounded
+ * by {@code app.stats.max-routes}.
+ */
+@Component
+public class VisitStatsMetrics implements MeterBinder {
+    private final VisitStats visitStats;
+
+    public VisitStatsMetrics(VisitStats visitStats) {
+        this.visitStats = visitStats;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        visitStats.addRouteListener(route -> FunctionCounter
+                .builder("banking.route.visits", visitStats, stats -> stats.getVisitCount(route))
+                .description("Requests per route since startup, including restored snapshots")
+                .tag("route", route)
+                .register(registry));
+    }
+}
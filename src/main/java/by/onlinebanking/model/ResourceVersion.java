@@ -0,0 +1,25 @@
+package by.onlinebanking.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Change counter of a polled resource ({@code user:<id>}, {@code users} or {@code roles}), from which ETags
+ * are built. Rows are bumped with upserts by {@code ResourceVersions} in the transaction of the change.
+ */
+@Entity
+@Table(name = "resource_versions")
+@Getter
+@Setter
+public class ResourceVersion {
+    @Id
+    @Column(length = 64)
+    private String resource;
+
+    @Column(nullable = false)
+    private long version;
+}
@@ -1,5 +1,6 @@
 package by.onlinebanking.model;
 
+import by.onlinebanking.logging.annotations.Sensitive;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
@@ -40,6 +41,7 @@ public class User {
 
     @Column(nullable = false)
     @JsonIgnore
+    @Sensitive
     private String password;
 
     @ManyToMany(cascade = {CascadeType.PERSIST, CascadeType.MERGE},
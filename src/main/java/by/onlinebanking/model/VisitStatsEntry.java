@@ -0,0 +1,47 @@
+package by.onlinebanking.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import java.time.Instant;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Persisted visit count of a route: the lifetime total ({@code resolution = TOTAL}) or one minute/hour bucket.
+ * Rows hold the sum over all instances; they are written with batched upserts by {@code VisitStatsPersister}.
+ */
+@Entity
+@Table(name = "visit_stats")
+@Getter
+@Setter
+public class VisitStatsEntry {
+    @EmbeddedId
+    private Key key;
+
+    @Column(nullable = false)
+    private long visits;
+
+    /** When visits were last added; lifetime totals not updated for a while are pruned by this. */
+    @Column(name = "last_visit")
+    private Instant lastVisit;
+
+    @Embeddable
+    @Getter
+    @Setter
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        @Column(nullable = false, length = 512)
+        private String route;
+
+        @Column(nullable = false, length = 16)
+        private String resolution;
+
+        @Column(name = "bucket_start", nullable = false)
+        private Instant bucketStart;
+    }
+}
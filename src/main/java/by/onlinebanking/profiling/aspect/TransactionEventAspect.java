@@ -0,0 +1,45 @@
+package by.onlinebanking.profiling.aspect;
+
+import by.onlinebanking.dto.transaction.BaseTransactionDto;
+import by.onlinebanking.exception.ApiException;
+import by.onlinebanking.profiling.event.TransactionEvent;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Emits a {@link TransactionEvent} per processed transaction. Outside a recording the event is disabled and
+ * this costs one allocation and a flag check.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TransactionEventAspect {
+    @Around("execution(* by.onlinebanking.service.TransactionService.processTransaction(..)) && args(transaction)")
+    public Object recordTransaction(ProceedingJoinPoint joinPoint, BaseTransactionDto transaction) throws Throwable {
+        TransactionEvent event = new TransactionEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+
+        event.begin();
+        String outcome = "success";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable ex) {
+            outcome = ex instanceof ApiException ? "rejected" : "error";
+            throw ex;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.type = transaction == null || transaction.getTransactionType() == null
+                        ? null : transaction.getTransactionType().name();
+                event.outcome = outcome;
+                event.commit();
+            }
+        }
+    }
+}
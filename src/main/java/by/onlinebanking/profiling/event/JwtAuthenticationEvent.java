@@ -0,0 +1,21 @@
+package by.onlinebanking.profiling.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("by.onlinebanking.JwtAuthentication")
+@Label("JWT Authentication")
+@Category("Online Banking")
+@Description("Token parsing, user lookup and validation in the JWT filter, excluding the rest of the chain")
+@StackTrace(false)
+public class JwtAuthenticationEvent extends Event {
+    @Label("Authenticated")
+    public boolean authenticated;
+
+    @Label("User Id")
+    public long userId;
+}
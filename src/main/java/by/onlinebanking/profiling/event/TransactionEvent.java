@@ -0,0 +1,21 @@
+package by.onlinebanking.profiling.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("by.onlinebanking.Transaction")
+@Label("Banking Transaction")
+@Category("Online Banking")
+@Description("TransactionService.processTransaction, including validation and commit")
+@StackTrace(false)
+public class TransactionEvent extends Event {
+    @Label("Type")
+    public String type;
+
+    @Label("Outcome")
+    public String outcome;
+}
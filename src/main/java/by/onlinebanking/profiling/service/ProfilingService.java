@@ -0,0 +1,310 @@
+package by.onlinebanking.profiling.service;
+
+import by.onlinebanking.config.ProfilingProperties;
+import by.onlinebanking.exception.BusinessException;
+import by.onlinebanking.exception.NotFoundException;
+import by.onlinebanking.exception.TooManyRequestsException;
+import by.onlinebanking.exception.ValidationException;
+import by.onlinebanking.profiling.event.JwtAuthenticationEvent;
+import by.onlinebanking.profiling.event.TransactionEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.stereotype.Service;
+
+/**
+ * On-demand JDK Flight Recorder recordings, following the task pattern of {@code LogsService}: a recording
+ * is started as a task, stops after its duration or when asked to, is dumped to a file, and can then be
+ * downloaded until its TTL expires. Only one recording runs at a time, since each one adds overhead to the
+ * whole process. Stopping and dumping happen on a single scheduler thread, never on request threads.
+ */
+@Service
+public class ProfilingService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProfilingService.class);
+    private static final long CLEANUP_INTERVAL_MINUTES = 1;
+    private static final String TASK_ID = "taskId";
+    private static final String STATUS = "status";
+
+    private final ProfilingProperties properties;
+    private final Map<String, RecordingTask> tasks = new ConcurrentHashMap<>();
+    private final AtomicReference<RecordingTask> active = new AtomicReference<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "jfr-recording");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ProfilingService(ProfilingProperties properties) {
+        this.properties = properties;
+    }
+
+    @PostConstruct
+    public void init() {
+        scheduler.scheduleAtFixedRate(this::cleanupOldTasks,
+                CLEANUP_INTERVAL_MINUTES, CLEANUP_INTERVAL_MINUTES, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void cleanup() {
+        scheduler.shutdownNow();
+        tasks.values().forEach(RecordingTask::discard);
+        tasks.clear();
+    }
+
+    /** Starts a recording with the named JFR settings (e.g. {@code default}, {@code profile}). */
+    public String startRecording(String profile, Duration duration) {
+        if (duration.isNegative() || duration.isZero() || duration.compareTo(properties.getMaxDuration()) > 0) {
+            throw new ValidationException("Duration is out of range")
+                    .addDetail("duration", duration)
+                    .addDetail("max", properties.getMaxDuration());
+        }
+        Configuration configuration = getConfiguration(profile);
+
+        RecordingTask task = new RecordingTask(UUID.randomUUID().toString(), profile);
+        RecordingTask running = active.compareAndExchange(null, task);
+        if (running != null) {
+            throw new TooManyRequestsException("A recording is already running")
+                    .addDetail(TASK_ID, running.id);
+        }
+
+        try {
+            Recording recording = new Recording(configuration);
+            recording.setName("onlinebanking-" + task.id);
+            recording.enable(TransactionEvent.class);
+            recording.enable(JwtAuthenticationEvent.class);
+            recording.start();
+            task.recording = recording;
+            task.scheduledStop = scheduler.schedule(() -> stop(task), duration.toMillis(), TimeUnit.MILLISECONDS);
+            tasks.put(task.id, task);
+        } catch (RuntimeException e) {
+            active.compareAndSet(task, null);
+            if (task.recording != null) {
+                task.recording.close();
+            }
+            throw new BusinessException("Failed to start recording")
+                    .addDetail("profile", profile)
+                    .addDetail("error", e.getMessage());
+        }
+        LOGGER.info("Started JFR recording {} with profile {} for {}", task.id, profile, duration);
+        return task.id;
+    }
+
+    /** Stops a running recording early; the file is available once the status turns COMPLETED. */
+    public Map<String, Object> stopRecording(String taskId) {
+        RecordingTask task = getTask(taskId);
+        if (task.scheduledStop != null && task.scheduledStop.cancel(false)) {
+            scheduler.execute(() -> stop(task));
+        }
+        return getTaskStatus(taskId);
+    }
+
+    public Map<String, Object> getTaskStatus(String taskId) {
+        RecordingTask task = getTask(taskId);
+        Map<String, Object> response = new HashMap<>();
+        response.put("profile", task.profile);
+
+        if (task.isDone()) {
+            try {
+                RecordingResult result = task.getResult();
+                response.put(STATUS, "COMPLETED");
+                response.put("filename", result.getFilename());
+                response.put("size", result.getSize());
+                response.put("expires in", task.calculateRemainingTime() + " seconds");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                response.put(STATUS, "FAILED");
+                response.put("error", "Task interrupted");
+            } catch (Exception e) {
+                response.put(STATUS, "FAILED");
+                response.put("error", e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+            }
+        } else {
+            response.put(STATUS, task.scheduledStop != null && task.scheduledStop.isCancelled()
+                    ? "STOPPING" : "RECORDING");
+        }
+        return response;
+    }
+
+    public RecordingResult getRecording(String taskId) throws IOException {
+        RecordingTask task = getTask(taskId);
+        if (!task.isDone()) {
+            throw new BusinessException("Recording is not completed")
+                    .addDetail(TASK_ID, taskId);
+        }
+        try {
+            return task.getResult();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Task interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Recording failed", e.getCause());
+        }
+    }
+
+    private void stop(RecordingTask task) {
+        RecordingResult result;
+        try {
+            result = dump(task);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("JFR recording {} failed: {}", task.id, e.getMessage());
+            task.fail(e);
+            return;
+        } finally {
+            // Released before the task completes, so a client seeing COMPLETED can start the next one
+            task.recording.close();
+            active.compareAndSet(task, null);
+        }
+        task.complete(result);
+        LOGGER.info("JFR recording {} written to {}", task.id, result.getFile());
+    }
+
+    private RecordingResult dump(RecordingTask task) throws IOException {
+        Path file = createRecordingFile(task.id);
+        try {
+            task.recording.stop();
+            task.recording.dump(file);
+            return new RecordingResult(file, "recording-" + task.id + ".jfr", Files.size(file));
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+    }
+
+    private Path createRecordingFile(String taskId) throws IOException {
+        String prefix = "recording_" + taskId + "_";
+        if (properties.getDir() == null || properties.getDir().isBlank()) {
+            return Files.createTempFile(prefix, ".jfr");
+        }
+        Path dir = Files.createDirectories(Paths.get(properties.getDir()));
+        return Files.createTempFile(dir, prefix, ".jfr");
+    }
+
+    private Configuration getConfiguration(String profile) {
+        try {
+            return Configuration.getConfiguration(profile);
+        } catch (IOException | ParseException e) {
+            throw new ValidationException("Unknown recording profile")
+                    .addDetail("profile", profile)
+                    .addDetail("available", Configuration.getConfigurations().stream()
+                            .map(Configuration::getName)
+                            .toList());
+        }
+    }
+
+    private RecordingTask getTask(String taskId) {
+        RecordingTask task = tasks.get(taskId);
+        if (task == null || task.isExpired(System.currentTimeMillis())) {
+            throw new NotFoundException("Recording not found or expired")
+                    .addDetail(TASK_ID, taskId);
+        }
+        return task;
+    }
+
+    private void cleanupOldTasks() {
+        long currentTime = System.currentTimeMillis();
+        Iterator<RecordingTask> iterator = tasks.values().iterator();
+        while (iterator.hasNext()) {
+            RecordingTask task = iterator.next();
+            if (task.isExpired(currentTime)) {
+                iterator.remove();
+                task.discard();
+            }
+        }
+    }
+
+    @Getter
+    public static class RecordingResult {
+        private final Path file;
+        private final String filename;
+        private final long size;
+
+        RecordingResult(Path file, String filename, long size) {
+            this.file = file;
+            this.filename = filename;
+            this.size = size;
+        }
+
+        public FileSystemResource getResource() {
+            return new FileSystemResource(file);
+        }
+
+        void delete() {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                LOGGER.warn("Failed to delete recording {}: {}", file, e.getMessage());
+            }
+        }
+    }
+
+    private final class RecordingTask {
+        private final String id;
+        private final String profile;
+        private final CompletableFuture<RecordingResult> future = new CompletableFuture<>();
+        private volatile Recording recording;
+        private volatile ScheduledFuture<?> scheduledStop;
+        private volatile long expirationTime = Long.MAX_VALUE;
+
+        RecordingTask(String id, String profile) {
+            this.id = id;
+            this.profile = profile;
+        }
+
+        void complete(RecordingResult result) {
+            expirationTime = System.currentTimeMillis() + properties.getResultTtl().toMillis();
+            future.complete(result);
+        }
+
+        void fail(Exception e) {
+            expirationTime = System.currentTimeMillis() + properties.getResultTtl().toMillis();
+            future.completeExceptionally(e);
+        }
+
+        boolean isExpired(long currentTime) {
+            return currentTime > expirationTime;
+        }
+
+        long calculateRemainingTime() {
+            long remaining = expirationTime - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toSeconds(Math.max(remaining, 0));
+        }
+
+        boolean isDone() {
+            return future.isDone();
+        }
+
+        RecordingResult getResult() throws ExecutionException, InterruptedException {
+            return future.get();
+        }
+
+        void discard() {
+            if (!future.isDone() && recording != null) {
+                recording.close();
+            }
+            future.thenAccept(RecordingResult::delete);
+        }
+    }
+}
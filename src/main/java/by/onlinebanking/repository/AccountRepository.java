@@ -3,8 +3,11 @@ package by.onlinebanking.repository;
 import by.onlinebanking.model.Account;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -13,5 +16,12 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
 
     @EntityGraph(attributePaths = {"user"})
     Optional<Account> findByIban(String iban);
+
+    @Query("SELECT a.user.id FROM Account a WHERE a.iban = :iban")
+    Optional<Long> findOwnerIdByIban(@Param("iban") String iban);
+
+    @Query("SELECT a.iban FROM Account a WHERE a.status = by.onlinebanking.model.enums.AccountStatus.ACTIVE " +
+            "ORDER BY a.balance DESC")
+    List<String> findTopActiveIbans(Pageable pageable);
 }
 
@@ -1,12 +1,10 @@
 package by.onlinebanking.repository;
 
 import by.onlinebanking.model.User;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.jetbrains.annotations.NotNull;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
@@ -16,9 +14,12 @@ import org.springframework.stereotype.Repository;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User> {
-    @NotNull
-    @EntityGraph(attributePaths = {"roles", "accounts"})
-    Page<User> findAll(Specification<User> spec, Pageable pageable);
+    /**
+     * Initializes roles and accounts of already paged users. Fetching the collections in the paged query
+     * itself would make Hibernate load every matching row and page in memory.
+     */
+    @Query("SELECT u FROM User u LEFT JOIN FETCH u.roles LEFT JOIN FETCH u.accounts WHERE u.id IN :ids")
+    List<User> findAllWithRolesAndAccountsByIdIn(@Param("ids") Collection<Long> ids);
 
     @NotNull
     @EntityGraph(attributePaths = {"roles", "accounts"})
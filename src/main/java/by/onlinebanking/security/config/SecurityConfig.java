@@ -11,10 +11,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.LockedException;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -42,7 +44,36 @@ public class SecurityConfig {
     private final CustomUserDetailsService userDetailsService;
     private final JwtAuthenticationFilter jwtAuthFilter;
 
+    /**
+     * Actuator endpoints other than health need ADMIN or the METRICS role of a scrape account. Besides a JWT,
+     * HTTP Basic is accepted here so that Prometheus can scrape with static credentials.
+     */
     @Bean
+    @Order(1)
+    @SuppressWarnings("java:S4502") // Disable CSRF protection, the endpoints are read-only
+    public SecurityFilterChain actuatorFilterChain(HttpSecurity http) throws Exception {
+        http
+                .securityMatcher("/actuator/**")
+                .csrf(AbstractHttpConfigurer::disable)
+                .authorizeHttpRequests(auth -> auth
+                        .requestMatchers("/actuator/health").permitAll()
+                        .anyRequest().hasAnyRole("ADMIN", "METRICS")
+                )
+                .sessionManagement(session -> session
+                        .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+                )
+                .authenticationProvider(authenticationProvider())
+                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+                .httpBasic(Customizer.withDefaults())
+                .exceptionHandling(exception -> exception
+                        .authenticationEntryPoint(new CustomAuthenticationEntryPoint())
+                        .accessDeniedHandler(customAccessDeniedHandler())
+                );
+        return http.build();
+    }
+
+    @Bean
+    @Order(2)
     @SuppressWarnings("java:S4502") // Disable CSRF protection due to JWT usage
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
@@ -60,7 +91,8 @@ public class SecurityConfig {
                         .requestMatchers(
                                 "/api/admin/**",
                                 "/api/logs/**",
-                                "/api/roles/**"
+                                "/api/roles/**",
+                                "/api/stats/top"
                         ).hasRole("ADMIN")
 
                         .requestMatchers(
@@ -1,5 +1,6 @@
 package by.onlinebanking.security.dto.request;
 
+import by.onlinebanking.logging.annotations.Sensitive;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
@@ -8,6 +9,7 @@ import lombok.Data;
 @Data
 public class ChangePasswordRequest {
     @NotBlank(message = "Current password is required")
+    @Sensitive
     private String currentPassword;
 
     @NotBlank(message = "New password is required")
@@ -15,8 +17,10 @@ public class ChangePasswordRequest {
     @Pattern(regexp = "^(?=.*[a-zA-Z])(?=.*\\d).+$",
             message = "Password must contain at least one letter and one number"
     )
+    @Sensitive
     private String newPassword;
 
     @NotBlank(message = "Password confirmation is required")
+    @Sensitive
     private String confirmPassword;
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package by.onlinebanking.security.dto.request;
 
+import by.onlinebanking.logging.annotations.Sensitive;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
@@ -21,5 +22,6 @@ public class LoginRequest {
             message = "Password must contain at least one letter and one number"
     )
     @ToString.Exclude
+    @Sensitive
     private String password;
 }
@@ -1,6 +1,7 @@
 package by.onlinebanking.security.dto.request;
 
 import by.onlinebanking.dto.user.UserBaseDto;
+import by.onlinebanking.logging.annotations.Sensitive;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -35,5 +36,6 @@ public class RegisterRequest implements UserBaseDto {
             message = "Password must contain at least one letter and one number"
     )
     @ToString.Exclude
+    @Sensitive
     private String password;
 }
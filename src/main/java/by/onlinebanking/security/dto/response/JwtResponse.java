@@ -1,5 +1,6 @@
 package by.onlinebanking.security.dto.response;
 
+import by.onlinebanking.logging.annotations.Sensitive;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -9,6 +10,7 @@ import lombok.Setter;
 @Setter
 @AllArgsConstructor
 public class JwtResponse {
+    @Sensitive
     private String token;
     @JsonProperty("isAdmin")
     private boolean isAdmin;
@@ -1,13 +1,18 @@
 package by.onlinebanking.security.filter;
 
+import by.onlinebanking.profiling.event.JwtAuthenticationEvent;
+import by.onlinebanking.security.model.AuthenticatedUser;
 import by.onlinebanking.security.service.CustomUserDetailsService;
 import by.onlinebanking.security.service.JwtService;
+import by.onlinebanking.stats.HeavyHitterTracker;
+import by.onlinebanking.stats.filter.RequestMdcFilter;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.MDC;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.LockedException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -22,6 +27,7 @@ import org.springframework.web.filter.OncePerRequestFilter;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtService jwtService;
     private final CustomUserDetailsService userDetailsService;
+    private final HeavyHitterTracker heavyHitterTracker;
 
     @Override
     protected void doFilterInternal(
@@ -29,9 +35,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             @NonNull HttpServletResponse response,
             @NonNull FilterChain filterChain
     ) throws ServletException, IOException {
+        JwtAuthenticationEvent event = new JwtAuthenticationEvent();
+        event.begin();
         try {
             final String authHeader = request.getHeader("Authorization");
             if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+                commit(event);
                 filterChain.doFilter(request, response);
                 return;
             }
@@ -54,12 +63,27 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                     );
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
+                    if (userDetails instanceof AuthenticatedUser authenticatedUser) {
+                        String userId = String.valueOf(authenticatedUser.getUser().getId());
+                        MDC.put(RequestMdcFilter.USER_ID, userId);
+                        heavyHitterTracker.record(HeavyHitterTracker.Dimension.USER, userId);
+                        event.userId = authenticatedUser.getUser().getId();
+                    }
+                    event.authenticated = true;
                 }
             }
         } catch (Exception e) {
             logger.error("Cannot set user authentication", e);
         }
 
+        commit(event);
         filterChain.doFilter(request, response);
     }
+
+    private static void commit(JwtAuthenticationEvent event) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.commit();
+        }
+    }
 }
\ No newline at end of file
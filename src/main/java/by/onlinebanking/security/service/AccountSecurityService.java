@@ -8,6 +8,7 @@ import by.onlinebanking.model.Account;
 import by.onlinebanking.model.User;
 import by.onlinebanking.repository.AccountRepository;
 import by.onlinebanking.repository.UserRepository;
+import by.onlinebanking.service.AccountService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
@@ -20,6 +21,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class AccountSecurityService {
     private final AccountRepository accountRepository;
     private final UserRepository userRepository;
+    private final AccountService accountService;
 
     @Transactional(readOnly = true)
     public Account validateAndGetAccount(String iban) {
@@ -80,9 +82,6 @@ public class AccountSecurityService {
     }
 
     private boolean isAccountOwner(String iban, Long userId) {
-        Account account = accountRepository.findByIban(iban)
-                .orElseThrow(() -> new NotFoundException("Account not found")
-                        .addDetail("iban", iban));
-        return account.getUser().getId().equals(userId);
+        return accountService.getOwnerId(iban).equals(userId);
     }
 }
\ No newline at end of file
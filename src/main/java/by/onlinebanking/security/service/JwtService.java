@@ -1,5 +1,6 @@
 package by.onlinebanking.security.service;
 
+import by.onlinebanking.logging.annotations.Sensitive;
 import by.onlinebanking.security.config.JwtProperties;
 import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
@@ -23,6 +24,7 @@ public class JwtService {
         this.secretKey = Keys.hmacShaKeyFor(jwtProperties.getSecret().getBytes());
     }
 
+    @Sensitive
     public String generateToken(UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
 
@@ -38,7 +40,7 @@ public class JwtService {
                 .compact();
     }
 
-    public boolean validateToken(String token) {
+    public boolean validateToken(@Sensitive String token) {
         try {
             var claims = Jwts.parser()
                     .verifyWith(secretKey)
@@ -52,7 +54,7 @@ public class JwtService {
         }
     }
 
-    public String extractUsername(String token) {
+    public String extractUsername(@Sensitive String token) {
         return Jwts.parser()
                 .verifyWith(secretKey)
                 .build()
@@ -1,5 +1,6 @@
 package by.onlinebanking.service;
 
+import by.onlinebanking.cache.ResourceVersions;
 import by.onlinebanking.dto.account.AccountDto;
 import by.onlinebanking.dto.response.OperationResponseDto;
 import by.onlinebanking.exception.BusinessException;
@@ -17,6 +18,8 @@ import java.time.LocalDateTime;
 import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
@@ -27,12 +30,15 @@ public class AccountService {
 
     private final AccountRepository accountRepository;
     private final UserRepository userRepository;
+    private final ResourceVersions resourceVersions;
 
     @Autowired
     public AccountService(AccountRepository accountRepository,
-                          UserRepository userRepository) {
+                          UserRepository userRepository,
+                          ResourceVersions resourceVersions) {
         this.accountRepository = accountRepository;
         this.userRepository = userRepository;
+        this.resourceVersions = resourceVersions;
     }
 
     public List<AccountDto> getAccountsByUserId(Long userId) {
@@ -48,6 +54,13 @@ public class AccountService {
                 .toList();
     }
 
+    @Cacheable(value = "accountOwners")
+    public Long getOwnerId(String iban) {
+        return accountRepository.findOwnerIdByIban(iban)
+                .orElseThrow(() -> new NotFoundException(ACCOUNT_NOT_FOUND)
+                        .addDetail("iban", iban));
+    }
+
     @Transactional
     @CacheEvict(value = "users", allEntries = true)
     public AccountDto createAccount(Long userId, Currency currency) {
@@ -62,7 +75,9 @@ public class AccountService {
         account.setCurrency(currency);
         account.setStatus(AccountStatus.ACTIVE);
 
-        return new AccountDto(accountRepository.save(account));
+        AccountDto accountDto = new AccountDto(accountRepository.save(account));
+        resourceVersions.bumpUser(userId);
+        return accountDto;
     }
 
     @Transactional
@@ -80,6 +95,7 @@ public class AccountService {
 
         account.setStatus(AccountStatus.CLOSED);
         accountRepository.save(account);
+        resourceVersions.bumpUser(account.getUser().getId());
 
         return new OperationResponseDto(
                 "Account is closed",
@@ -98,6 +114,7 @@ public class AccountService {
 
         account.setStatus(AccountStatus.ACTIVE);
         accountRepository.save(account);
+        resourceVersions.bumpUser(account.getUser().getId());
 
         return new OperationResponseDto(
                 "Account is opened",
@@ -107,7 +124,10 @@ public class AccountService {
     }
 
     @Transactional
-    @CacheEvict(value = "users", allEntries = true)
+    @Caching(evict = {
+            @CacheEvict(value = "users", allEntries = true),
+            @CacheEvict(value = "accountOwners", key = "#iban")
+    })
     @PreAuthorize("hasRole('ADMIN')")
     public OperationResponseDto deleteAccount(String iban) {
         Account account = accountRepository.findByIban(iban)
@@ -120,6 +140,7 @@ public class AccountService {
         }
 
         accountRepository.delete(account);
+        resourceVersions.bumpUser(account.getUser().getId());
 
         return new OperationResponseDto(
                 "Account " + iban + " is deleted",
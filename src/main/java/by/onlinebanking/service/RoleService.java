@@ -1,5 +1,7 @@
 package by.onlinebanking.service;
 
+import by.onlinebanking.cache.ResourceVersions;
+import by.onlinebanking.cache.RoleRegistry;
 import by.onlinebanking.dto.role.RoleDto;
 import by.onlinebanking.exception.BusinessException;
 import by.onlinebanking.exception.NotFoundException;
@@ -15,12 +17,18 @@ import org.springframework.stereotype.Service;
 public class RoleService {
     private final RoleRepository roleRepository;
     private final UserRepository userRepository;
+    private final RoleRegistry roleRegistry;
+    private final ResourceVersions resourceVersions;
 
     @Autowired
     public RoleService(RoleRepository roleRepository,
-                       UserRepository userRepository) {
+                       UserRepository userRepository,
+                       RoleRegistry roleRegistry,
+                       ResourceVersions resourceVersions) {
         this.roleRepository = roleRepository;
         this.userRepository = userRepository;
+        this.roleRegistry = roleRegistry;
+        this.resourceVersions = resourceVersions;
     }
 
     public RoleDto createRole(String roleName) {
@@ -32,8 +40,11 @@ public class RoleService {
         Role role = new Role();
 
         role.setName(roleName);
+        Role savedRole = roleRepository.save(role);
+        roleRegistry.reload();
+        resourceVersions.bumpRoles();
 
-        return new RoleDto(roleRepository.save(role));
+        return new RoleDto(savedRole);
     }
 
     public List<RoleDto> getAllRoles() {
@@ -55,6 +66,9 @@ public class RoleService {
 
         role.setName(newRoleName);
         Role updatedRole = roleRepository.save(role);
+        roleRegistry.reload();
+        resourceVersions.bumpRoles();
+        resourceVersions.bumpAllUsers();
 
         return new RoleDto(updatedRole);
     }
@@ -70,5 +84,7 @@ public class RoleService {
         }
 
         roleRepository.delete(role);
+        roleRegistry.reload();
+        resourceVersions.bumpRoles();
     }
 }
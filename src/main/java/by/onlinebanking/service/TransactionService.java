@@ -1,5 +1,6 @@
 package by.onlinebanking.service;
 
+import by.onlinebanking.cache.ResourceVersions;
 import by.onlinebanking.dto.response.OperationResponseDto;
 import by.onlinebanking.dto.transaction.BaseTransactionDto;
 import by.onlinebanking.dto.transaction.SingleAccountTransactionDto;
@@ -8,6 +9,7 @@ import by.onlinebanking.exception.BusinessException;
 import by.onlinebanking.exception.NotFoundException;
 import by.onlinebanking.model.Account;
 import by.onlinebanking.repository.AccountRepository;
+import by.onlinebanking.stats.HeavyHitterTracker;
 import by.onlinebanking.validation.TransactionValidator;
 import jakarta.transaction.Transactional;
 import java.math.BigDecimal;
@@ -23,12 +25,18 @@ public class TransactionService {
 
     private final AccountRepository accountRepository;
     private final TransactionValidator transactionValidator;
+    private final ResourceVersions resourceVersions;
+    private final HeavyHitterTracker heavyHitterTracker;
 
     @Autowired
     public TransactionService(AccountRepository accountRepository,
-                              TransactionValidator transactionValidator) {
+                              TransactionValidator transactionValidator,
+                              ResourceVersions resourceVersions,
+                              HeavyHitterTracker heavyHitterTracker) {
         this.accountRepository = accountRepository;
         this.transactionValidator = transactionValidator;
+        this.resourceVersions = resourceVersions;
+        this.heavyHitterTracker = heavyHitterTracker;
     }
 
     @Transactional
@@ -39,14 +47,18 @@ public class TransactionService {
         return switch (transaction.getTransactionType()) {
             case DEPOSIT -> {
                 SingleAccountTransactionDto depositRequest = (SingleAccountTransactionDto) transaction;
+                heavyHitterTracker.record(HeavyHitterTracker.Dimension.IBAN, depositRequest.getIban());
                 yield deposit(depositRequest.getIban(), depositRequest.getAmount());
             }
             case WITHDRAWAL -> {
                 SingleAccountTransactionDto withdrawalRequest = (SingleAccountTransactionDto) transaction;
+                heavyHitterTracker.record(HeavyHitterTracker.Dimension.IBAN, withdrawalRequest.getIban());
                 yield withdraw(withdrawalRequest.getIban(), withdrawalRequest.getAmount());
             }
             case TRANSFER -> {
                 TransferTransactionDto transfer = (TransferTransactionDto) transaction;
+                heavyHitterTracker.record(HeavyHitterTracker.Dimension.IBAN, transfer.getFromIban());
+                heavyHitterTracker.record(HeavyHitterTracker.Dimension.IBAN, transfer.getToIban());
                 yield transfer(transfer.getFromIban(), transfer.getToIban(), transfer.getAmount());
             }
         };
@@ -60,6 +72,7 @@ public class TransactionService {
 
         account.setBalance(account.getBalance().add(amount));
         accountRepository.save(account);
+        bumpOwnerVersion(account);
 
         return new OperationResponseDto(
                 "Deposit success: +" + amount + " " + account.getCurrency(),
@@ -83,6 +96,7 @@ public class TransactionService {
 
         account.setBalance(account.getBalance().subtract(amount));
         accountRepository.save(account);
+        bumpOwnerVersion(account);
 
         return new OperationResponseDto(
                 "Withdrawal success: -" + amount + " " + account.getCurrency(),
@@ -113,6 +127,8 @@ public class TransactionService {
 
         accountRepository.save(fromAccount);
         accountRepository.save(toAccount);
+        bumpOwnerVersion(fromAccount);
+        bumpOwnerVersion(toAccount);
 
         return new OperationResponseDto(
                 "Transfer " + amount + " " + fromAccount.getCurrency() +
@@ -120,4 +136,10 @@ public class TransactionService {
                 LocalDateTime.now(),
                 HttpStatus.OK);
     }
+
+    private void bumpOwnerVersion(Account account) {
+        if (account.getUser() != null) {
+            resourceVersions.bumpUser(account.getUser().getId());
+        }
+    }
 }
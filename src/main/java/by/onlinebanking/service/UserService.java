@@ -1,5 +1,6 @@
 package by.onlinebanking.service;
 
+import by.onlinebanking.cache.ResourceVersions;
 import by.onlinebanking.dto.response.UserResponseDto;
 import by.onlinebanking.dto.user.CreateUserDto;
 import by.onlinebanking.dto.user.UpdateUserDto;
@@ -7,6 +8,7 @@ import by.onlinebanking.dto.user.UserBaseDto;
 import by.onlinebanking.exception.BusinessException;
 import by.onlinebanking.exception.NotFoundException;
 import by.onlinebanking.exception.ValidationException;
+import by.onlinebanking.logging.annotations.Sensitive;
 import by.onlinebanking.model.Role;
 import by.onlinebanking.model.User;
 import by.onlinebanking.repository.RoleRepository;
@@ -19,7 +21,9 @@ import by.onlinebanking.validation.interfaces.OnPatch;
 import jakarta.transaction.Transactional;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheEvict;
@@ -44,16 +48,19 @@ public class UserService {
     private final RolesValidator rolesValidator;
     private final RoleRepository roleRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ResourceVersions resourceVersions;
 
     @Autowired
     public UserService(UserRepository userRepository,
                        RolesValidator rolesValidator,
                        RoleRepository roleRepository,
-                       PasswordEncoder passwordEncoder) {
+                       PasswordEncoder passwordEncoder,
+                       ResourceVersions resourceVersions) {
         this.userRepository = userRepository;
         this.rolesValidator = rolesValidator;
         this.roleRepository = roleRepository;
         this.passwordEncoder = passwordEncoder;
+        this.resourceVersions = resourceVersions;
     }
 
     @Transactional
@@ -73,10 +80,14 @@ public class UserService {
         user.getRoles().add(userRole);
 
         userRepository.save(user);
+        resourceVersions.bumpUser(user.getId());
+        resourceVersions.bumpRoles();
     }
 
     @Transactional
-    public void changePassword(String currentPassword, String newPassword, String confirmPassword) {
+    public void changePassword(@Sensitive String currentPassword,
+                               @Sensitive String newPassword,
+                               @Sensitive String confirmPassword) {
         User user = getUserFromAuthentication();
 
         if (!newPassword.equals(confirmPassword)) {
@@ -110,12 +121,27 @@ public class UserService {
         return authenticatedUser.getUser();
     }
 
-    @Cacheable(value = "users")
+    @Cacheable(value = "users",
+            key = "new by.onlinebanking.cache.UsersCacheKey(#fullName, #roleNames, #pageable)")
     public Page<UserResponseDto> getUsers(String fullName, List<String> roleNames, Pageable pageable) {
+        return findUsers(fullName, roleNames, pageable);
+    }
+
+    /**
+     * Pages users in the database, then loads roles and accounts of just that page with one more query, so
+     * neither the page nor the collections are assembled in memory from every matching user.
+     */
+    public Page<UserResponseDto> findUsers(String fullName, List<String> roleNames, Pageable pageable) {
         Specification<User> spec = buildSpecification(fullName, roleNames);
         Page<User> userPage = userRepository.findAll(spec, pageable);
+        if (userPage.isEmpty()) {
+            return userPage.map(UserResponseDto::new);
+        }
 
-        return userPage.map(UserResponseDto::new);
+        Map<Long, User> loaded = userRepository.findAllWithRolesAndAccountsByIdIn(
+                        userPage.map(User::getId).getContent()).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        return userPage.map(user -> new UserResponseDto(loaded.getOrDefault(user.getId(), user)));
     }
 
     private Specification<User> buildSpecification(String fullName, List<String> roleNames) {
@@ -150,7 +176,14 @@ public class UserService {
         Set<Role> roles = rolesValidator.validateAndFindRoles(userDto.getRoles());
         user.setRoles(roles);
 
-        return new UserResponseDto(userRepository.save(user));
+        return new UserResponseDto(saveAndBumpVersions(user));
+    }
+
+    private User saveAndBumpVersions(User user) {
+        User savedUser = userRepository.save(user);
+        resourceVersions.bumpUser(user.getId());
+        resourceVersions.bumpRoles();
+        return savedUser;
     }
 
     private void checkEmail(String email) {
@@ -174,7 +207,7 @@ public class UserService {
         Set<Role> roles = rolesValidator.validateAndFindRoles(userDto.getRoles());
         user.setRoles(roles);
 
-        return new UserResponseDto(userRepository.save(user));
+        return new UserResponseDto(saveAndBumpVersions(user));
     }
 
     private void setUserBaseFields(UserBaseDto userDto, User user) {
@@ -197,7 +230,7 @@ public class UserService {
 
         updateUserFields(userDto, user);
 
-        return new UserResponseDto(userRepository.save(user));
+        return new UserResponseDto(saveAndBumpVersions(user));
     }
 
     private void checkEmailUniqueness(String email, Long currentUserId) {
@@ -248,12 +281,16 @@ public class UserService {
                     .addDetail("existingEmails", existingEmails);
         }
 
+        // One lookup for the roles of all users instead of one per user
+        Map<String, Role> rolesByName = rolesValidator.findRoles(userDtos.stream()
+                .flatMap(dto -> dto.getRoles().stream())
+                .toList());
         List<User> usersToSave = userDtos.stream()
                 .map(dto -> {
                     User user = new User();
                     try {
                         setUserBaseFields(dto, user);
-                        Set<Role> roles = rolesValidator.validateAndFindRoles(dto.getRoles());
+                        Set<Role> roles = rolesValidator.validateRoles(dto.getRoles(), rolesByName);
                         user.setRoles(roles);
                     } catch (ValidationException ex) {
                         throw new BusinessException("Invalid roles for user: " + dto.getEmail())
@@ -265,6 +302,8 @@ public class UserService {
                 .toList();
 
         List<User> savedUsers = userRepository.saveAll(usersToSave);
+        savedUsers.forEach(user -> resourceVersions.bumpUser(user.getId()));
+        resourceVersions.bumpRoles();
 
         return savedUsers.stream()
                 .map(UserResponseDto::new)
@@ -279,11 +318,13 @@ public class UserService {
     }
 
     @Transactional
-    @CacheEvict(value = "users", allEntries = true)
+    @CacheEvict(value = {"users", "accountOwners"}, allEntries = true)
     public void deleteUser(Long id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException(USER_NOT_FOUND)
                         .addDetail(USER_ID, id));
         userRepository.delete(user);
+        resourceVersions.bumpUser(id);
+        resourceVersions.bumpRoles();
     }
 }
@@ -15,6 +15,8 @@ public class UserSpecifications {
     public static Specification<User> hasRoles(List<String> roleNames) {
         return (root, query, cb) -> {
             if (roleNames == null || roleNames.isEmpty()) return null;
+            // A user with several matching roles must still take one row of the page and count once
+            query.distinct(true);
             return root.join("roles").get("name").in(roleNames);
         };
     }
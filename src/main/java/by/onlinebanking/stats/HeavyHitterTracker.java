@@ -0,0 +1,45 @@
+package by.onlinebanking.stats;
+
+import by.onlinebanking.config.StatsProperties;
+import java.time.Clock;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/** {@link HeavyHitters} per {@link Dimension}: accounts touched by transactions and authenticated users. */
+@Component
+public class HeavyHitterTracker {
+    private final Map<Dimension, HeavyHitters> trackers = new EnumMap<>(Dimension.class);
+    private final Clock clock;
+
+    @Autowired
+    public HeavyHitterTracker(StatsProperties statsProperties) {
+        this(statsProperties, Clock.systemUTC());
+    }
+
+    public HeavyHitterTracker(StatsProperties statsProperties, Clock clock) {
+        StatsProperties.Top top = statsProperties.getTop();
+        for (Dimension dimension : Dimension.values()) {
+            trackers.put(dimension, new HeavyHitters(top.getWidth(), top.getCandidates()));
+        }
+        this.clock = clock;
+    }
+
+    public void record(Dimension dimension, String key) {
+        if (key != null) {
+            trackers.get(dimension).add(key, clock.millis());
+        }
+    }
+
+    /** Top keys over the current minute and the {@code minutes - 1} before it. */
+    public List<Map.Entry<String, Long>> top(Dimension dimension, int minutes, int limit) {
+        return trackers.get(dimension).top(clock.millis(), minutes, limit);
+    }
+
+    public enum Dimension {
+        IBAN,
+        USER
+    }
+}
@@ -0,0 +1,201 @@
+package by.onlinebanking.stats;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Approximate most frequent keys per {@link Resolution#MINUTE} bucket. Every bucket is a Count-Min Sketch
+ * ({@code DEPTH} rows of {@code width} counters) plus a small table of candidate keys, so memory is fixed by
+ * the configuration and not by how many distinct keys are seen. A key's count may be overestimated by
+ * colliding keys, never underestimated. Each row hashes the key's UTF-8 bytes with MurmurHash3 under its
+ * own seed, so keys that collide in one row, or share a {@link String#hashCode}, are independent in the
+ * others. Updates are CAS-only: the candidate slots a key hashes to keep it if
+ * one is free or holds a key with a lower estimate. A bucket that falls out of the ring is replaced by a
+ * fresh one on the first write of a new minute, like the slots of {@link RollingCounter}.
+ */
+public final class HeavyHitters {
+    private static final int DEPTH = 4;
+    private static final int PROBES = 4;
+    private static final int[] SEEDS = {0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F};
+
+    private final long bucketMillis = Resolution.MINUTE.getBucket().toMillis();
+    private final AtomicReferenceArray<Bucket> buckets =
+            new AtomicReferenceArray<>(Resolution.MINUTE.getMaxPoints() + 1);
+    private final int width;
+    private final int candidates;
+
+    public HeavyHitters(int width, int candidates) {
+        this.width = width;
+        this.candidates = candidates;
+    }
+
+    public void add(String key, long nowMillis) {
+        bucketFor(nowMillis / bucketMillis).add(key);
+    }
+
+    /**
+     * The {@code limit} keys with the highest estimated counts over the current bucket and the
+     * {@code points - 1} before it, highest first.
+     */
+    public List<Map.Entry<String, Long>> top(long nowMillis, int points, int limit) {
+        long currentBucket = nowMillis / bucketMillis;
+        List<Bucket> window = new ArrayList<>(points);
+        for (int i = 0; i < points; i++) {
+            Bucket bucket = buckets.get(slot(currentBucket - i));
+            if (bucket != null && bucket.number == currentBucket - i) {
+                window.add(bucket);
+            }
+        }
+
+        Set<String> keys = new HashSet<>();
+        for (Bucket bucket : window) {
+            for (int i = 0; i < bucket.candidates.length(); i++) {
+                String key = bucket.candidates.get(i);
+                if (key != null) {
+                    keys.add(key);
+                }
+            }
+        }
+
+        List<Map.Entry<String, Long>> result = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            long total = 0;
+            for (Bucket bucket : window) {
+                total += bucket.estimate(key);
+            }
+            result.add(Map.entry(key, total));
+        }
+        result.sort(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()));
+        return result.size() > limit ? result.subList(0, limit) : result;
+    }
+
+    private Bucket bucketFor(long number) {
+        int slot = slot(number);
+        while (true) {
+            Bucket bucket = buckets.get(slot);
+            if (bucket != null && bucket.number >= number) {
+                return bucket;
+            }
+            Bucket fresh = new Bucket(number);
+            if (buckets.compareAndSet(slot, bucket, fresh)) {
+                return fresh;
+            }
+        }
+    }
+
+    private int slot(long number) {
+        return (int) (number % buckets.length());
+    }
+
+    /** Non-negative hash of the key for every sketch row. */
+    private static int[] hashes(String key) {
+        byte[] data = key.getBytes(StandardCharsets.UTF_8);
+        int[] hashes = new int[DEPTH];
+        for (int row = 0; row < DEPTH; row++) {
+            hashes[row] = murmur3(data, SEEDS[row]) & Integer.MAX_VALUE;
+        }
+        return hashes;
+    }
+
+    /** MurmurHash3 x86 32-bit. */
+    private static int murmur3(byte[] data, int seed) {
+        int h = seed;
+        int blocks = data.length & ~3;
+        for (int i = 0; i < blocks; i += 4) {
+            int k = data[i] & 0xFF | (data[i + 1] & 0xFF) << 8 | (data[i + 2] & 0xFF) << 16 | data[i + 3] << 24;
+            h ^= mixK(k);
+            h = Integer.rotateLeft(h, 13) * 5 + 0xE6546B64;
+        }
+        int tail = data.length & 3;
+        if (tail > 0) {
+            int k = 0;
+            if (tail == 3) {
+                k ^= (data[blocks + 2] & 0xFF) << 16;
+            }
+            if (tail >= 2) {
+                k ^= (data[blocks + 1] & 0xFF) << 8;
+            }
+            k ^= data[blocks] & 0xFF;
+            h ^= mixK(k);
+        }
+        h ^= data.length;
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        return h ^ h >>> 16;
+    }
+
+    private static int mixK(int k) {
+        return Integer.rotateLeft(k * 0xCC9E2D51, 15) * 0x1B873593;
+    }
+
+    private final class Bucket {
+        private final long number;
+        private final AtomicLongArray counters = new AtomicLongArray(DEPTH * width);
+        private final AtomicReferenceArray<String> candidates =
+                new AtomicReferenceArray<>(HeavyHitters.this.candidates);
+
+        Bucket(long number) {
+            this.number = number;
+        }
+
+        void add(String key) {
+            int[] hashes = hashes(key);
+            long estimate = Long.MAX_VALUE;
+            for (int row = 0; row < DEPTH; row++) {
+                estimate = Math.min(estimate, counters.incrementAndGet(row * width + hashes[row] % width));
+            }
+            offer(key, hashes[0], estimate);
+        }
+
+        long estimate(String key) {
+            int[] hashes = hashes(key);
+            long estimate = Long.MAX_VALUE;
+            for (int row = 0; row < DEPTH; row++) {
+                estimate = Math.min(estimate, counters.get(row * width + hashes[row] % width));
+            }
+            return estimate;
+        }
+
+        private void offer(String key, int hash, long estimate) {
+            int start = hash % candidates.length();
+            int weakestSlot = -1;
+            String weakest = null;
+            long weakestEstimate = estimate;
+            for (int probe = 0; probe < PROBES && probe < candidates.length(); probe++) {
+                int slot = (start + probe) % candidates.length();
+                String current = candidates.get(slot);
+                if (key.equals(current)) {
+                    return;
+                }
+                if (current == null) {
+                    if (candidates.compareAndSet(slot, null, key)) {
+                        return;
+                    }
+                    current = candidates.get(slot);
+                    if (key.equals(current)) {
+                        return;
+                    }
+                }
+                long currentEstimate = current == null ? 0 : estimate(current);
+                if (currentEstimate < weakestEstimate) {
+                    weakestSlot = slot;
+                    weakest = current;
+                    weakestEstimate = currentEstimate;
+                }
+            }
+            // Losing this race is fine: the key is offered again on its next occurrence
+            if (weakestSlot >= 0) {
+                candidates.compareAndSet(weakestSlot, weakest, key);
+            }
+        }
+    }
+}
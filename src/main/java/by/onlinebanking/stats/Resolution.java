@@ -0,0 +1,36 @@
+package by.onlinebanking.stats;
+
+import java.time.Duration;
+
+/** Bucket widths of the rolling visit counters and how many past buckets each one keeps. */
+public enum Resolution {
+    SECOND(Duration.ofSeconds(1), 60),
+    MINUTE(Duration.ofMinutes(1), 60),
+    HOUR(Duration.ofHours(1), 24);
+
+    private final Duration bucket;
+    private final int maxPoints;
+
+    Resolution(Duration bucket, int maxPoints) {
+        this.bucket = bucket;
+        this.maxPoints = maxPoints;
+    }
+
+    public Duration getBucket() {
+        return bucket;
+    }
+
+    public int getMaxPoints() {
+        return maxPoints;
+    }
+
+    /** The finest resolution whose buckets span {@code window}, or {@code null} if none does. */
+    public static Resolution covering(Duration window) {
+        for (Resolution resolution : values()) {
+            if (window.compareTo(resolution.bucket.multipliedBy(resolution.maxPoints)) <= 0) {
+                return resolution;
+            }
+        }
+        return null;
+    }
+}
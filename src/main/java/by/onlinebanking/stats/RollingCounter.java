@@ -0,0 +1,109 @@
+package by.onlinebanking.stats;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Ring of fixed-width time buckets. Each slot packs the bucket number (upper 32 bits) and its count (lower
+ * 32 bits) into one long, so a write that lands in a slot still holding an older bucket resets and counts
+ * with a single CAS, without locks and without losing concurrent increments. One slot more than the
+ * readable history is kept, so the bucket being written never overlaps the oldest one being read.
+ * <p>
+ * The {@code saved*} arrays remember how much of each bucket has already been persisted; they are only
+ * touched by the snapshot thread and by {@link #restore} before snapshots start.
+ */
+public final class RollingCounter {
+    private static final long COUNT_MASK = 0xFFFFFFFFL;
+
+    private final long bucketMillis;
+    private final AtomicLongArray slots;
+    private final long[] savedBuckets;
+    private final long[] savedCounts;
+
+    public RollingCounter(Resolution resolution) {
+        this.bucketMillis = resolution.getBucket().toMillis();
+        this.slots = new AtomicLongArray(resolution.getMaxPoints() + 1);
+        this.savedBuckets = new long[slots.length()];
+        this.savedCounts = new long[slots.length()];
+    }
+
+    public void increment(long nowMillis) {
+        long bucket = nowMillis / bucketMillis;
+        int slot = (int) (bucket % slots.length());
+        long current;
+        long next;
+        do {
+            current = slots.get(slot);
+            next = current >>> 32 == bucket ? current + 1 : bucket << 32 | 1;
+        } while (!slots.compareAndSet(slot, current, next));
+    }
+
+    /** Counts of the {@code points} buckets preceding the current one, oldest first. */
+    public long[] completed(long nowMillis, int points) {
+        long currentBucket = nowMillis / bucketMillis;
+        long[] counts = new long[points];
+        for (int i = 0; i < points; i++) {
+            counts[i] = count(currentBucket - points + i);
+        }
+        return counts;
+    }
+
+    /** Total of the current bucket and the {@code points - 1} before it. */
+    public long sum(long nowMillis, int points) {
+        long currentBucket = nowMillis / bucketMillis;
+        long total = 0;
+        for (int i = 0; i < points; i++) {
+            total += count(currentBucket - i);
+        }
+        return total;
+    }
+
+    private long count(long bucket) {
+        long value = slots.get((int) (bucket % slots.length()));
+        return value >>> 32 == bucket ? value & COUNT_MASK : 0;
+    }
+
+    /** Passes every bucket still in the ring with the visits not yet marked as saved. */
+    public void forEachUnsaved(BucketConsumer consumer) {
+        for (int slot = 0; slot < slots.length(); slot++) {
+            long value = slots.get(slot);
+            long bucket = value >>> 32;
+            long saved = savedBuckets[slot] == bucket ? savedCounts[slot] : 0;
+            long unsaved = (value & COUNT_MASK) - saved;
+            if (bucket != 0 && unsaved > 0) {
+                consumer.accept(bucket * bucketMillis, unsaved);
+            }
+        }
+    }
+
+    public void markSaved(long bucketStartMillis, long visits) {
+        long bucket = bucketStartMillis / bucketMillis;
+        int slot = (int) (bucket % slots.length());
+        if (savedBuckets[slot] != bucket) {
+            savedBuckets[slot] = bucket;
+            savedCounts[slot] = 0;
+        }
+        savedCounts[slot] += visits;
+    }
+
+    /** Adds persisted visits to their bucket, unless the slot already holds a newer one. */
+    public void restore(long bucketStartMillis, long visits) {
+        long bucket = bucketStartMillis / bucketMillis;
+        int slot = (int) (bucket % slots.length());
+        long current;
+        long next;
+        do {
+            current = slots.get(slot);
+            long currentBucket = current >>> 32;
+            if (currentBucket > bucket) {
+                return;
+            }
+            next = currentBucket == bucket ? current + visits : bucket << 32 | visits;
+        } while (!slots.compareAndSet(slot, current, next));
+        markSaved(bucketStartMillis, visits);
+    }
+
+    @FunctionalInterface
+    public interface BucketConsumer {
+        void accept(long bucketStartMillis, long visits);
+    }
+}
@@ -0,0 +1,79 @@
+package by.onlinebanking.stats;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency and status classes of one route per {@link Resolution#MINUTE} bucket, so they can be reported over
+ * the last few minutes instead of since startup. As in {@link HeavyHitters}, a slot still holding an older
+ * minute is replaced with a fresh bucket by the first request of the new minute, and minutes without requests
+ * allocate nothing. One slot more than the readable history is kept, so the bucket being written never
+ * overlaps the oldest one being read.
+ */
+public final class RollingLatency {
+    private static final int STATUS_CLASSES = 5;
+
+    private final long bucketMillis = Resolution.MINUTE.getBucket().toMillis();
+    private final AtomicReferenceArray<Bucket> buckets;
+
+    public RollingLatency(int minutes) {
+        this.buckets = new AtomicReferenceArray<>(minutes + 1);
+    }
+
+    public void record(long nowMillis, long micros, int status) {
+        Bucket bucket = bucketFor(nowMillis / bucketMillis);
+        bucket.latency.record(micros);
+        int statusClass = status / 100 - 1;
+        if (statusClass >= 0 && statusClass < STATUS_CLASSES) {
+            bucket.statusClasses[statusClass].increment();
+        }
+    }
+
+    /** Latency and status classes over the current minute and the {@code minutes - 1} before it. */
+    public VisitStats.RequestStats sum(long nowMillis, int minutes) {
+        long currentBucket = nowMillis / bucketMillis;
+        LatencyHistogram.Snapshot latency = LatencyHistogram.Snapshot.EMPTY;
+        long[] statusClasses = new long[STATUS_CLASSES];
+        for (int i = 0; i < Math.min(minutes, buckets.length() - 1); i++) {
+            Bucket bucket = buckets.get(slot(currentBucket - i));
+            if (bucket != null && bucket.number == currentBucket - i) {
+                latency = latency.plus(bucket.latency.snapshot());
+                for (int j = 0; j < STATUS_CLASSES; j++) {
+                    statusClasses[j] += bucket.statusClasses[j].sum();
+                }
+            }
+        }
+        return new VisitStats.RequestStats(latency, statusClasses);
+    }
+
+    private Bucket bucketFor(long number) {
+        int slot = slot(number);
+        while (true) {
+            Bucket bucket = buckets.get(slot);
+            if (bucket != null && bucket.number >= number) {
+                return bucket;
+            }
+            Bucket fresh = new Bucket(number);
+            if (buckets.compareAndSet(slot, bucket, fresh)) {
+                return fresh;
+            }
+        }
+    }
+
+    private int slot(long number) {
+        return (int) (number % buckets.length());
+    }
+
+    private static final class Bucket {
+        private final long number;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder[] statusClasses = new LongAdder[STATUS_CLASSES];
+
+        Bucket(long number) {
+            this.number = number;
+            for (int i = 0; i < STATUS_CLASSES; i++) {
+                statusClasses[i] = new LongAdder();
+            }
+        }
+    }
+}
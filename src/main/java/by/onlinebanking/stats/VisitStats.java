@@ -1,26 +1,281 @@
 package by.onlinebanking.stats;
 
+import by.onlinebanking.config.StatsProperties;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+/**
+ * Visit counters per route. The number of keys is capped at {@code app.stats.max-routes}; once it is reached,
+ * visits to routes not seen before are counted under {@link #OVERFLOW_KEY}. Counters are {@link LongAdder}s,
+ * so concurrent requests to the same route increment separate cells instead of contending on one, and the
+ * common case of a known route is a plain map read without locking. Besides the lifetime total, every route
+ * has a {@link RollingCounter} per {@link Resolution} and, for requests served through the filter, a
+ * {@link RollingLatency} of the last {@code app.stats.latency.minutes}, so its memory does not grow with time
+ * either.
+ */
 @Component
 public class VisitStats {
-    private final ConcurrentHashMap<String, AtomicLong> urlCounters = new ConcurrentHashMap<>();
+    public static final String OVERFLOW_KEY = "OTHER";
+    /** Resolution name used in snapshot rows for lifetime totals. */
+    public static final String TOTAL = "TOTAL";
+    /** Rolling windows worth keeping across restarts; per-second buckets are stale by then. */
+    public static final List<Resolution> PERSISTED_RESOLUTIONS = List.of(Resolution.MINUTE, Resolution.HOUR);
+
+    private final ConcurrentHashMap<String, RouteCounters> urlCounters = new ConcurrentHashMap<>();
+    private final AtomicInteger routeCount = new AtomicInteger();
+    private final List<Consumer<String>> routeListeners = new CopyOnWriteArrayList<>();
+    private final int maxRoutes;
+    private final int latencyMinutes;
+    private final Clock clock;
+
+    @Autowired
+    public VisitStats(StatsProperties statsProperties) {
+        this(statsProperties, Clock.systemUTC());
+    }
+
+    public VisitStats(StatsProperties statsProperties, Clock clock) {
+        this.maxRoutes = statsProperties.getMaxRoutes();
+        this.latencyMinutes = statsProperties.getLatency().getMinutes();
+        this.clock = clock;
+    }
 
     public void recordVisit(String url) {
-        urlCounters.computeIfAbsent(url, k -> new AtomicLong(0)).addAndGet(1);
+        countersFor(url).increment(clock.millis());
+    }
+
+    /** Records a served request: a visit plus its latency and status class. */
+    public void recordRequest(String url, int status, long durationNanos) {
+        RouteCounters counters = countersFor(url);
+        long now = clock.millis();
+        counters.increment(now);
+        counters.latency.record(now, TimeUnit.NANOSECONDS.toMicros(durationNanos), status);
     }
 
     public long getVisitCount(String url) {
-        return urlCounters.getOrDefault(url, new AtomicLong(0)).get();
+        RouteCounters counters = urlCounters.get(url);
+        return counters == null ? 0 : counters.total.sum();
     }
 
     public Map<String, Long> getAllStats() {
         Map<String, Long> result = new HashMap<>();
-        urlCounters.forEach((k, v) -> result.put(k, v.get()));
+        urlCounters.forEach((k, v) -> result.put(k, v.total.sum()));
         return result;
     }
+
+    /**
+     * Visits per bucket for the {@code points} completed buckets of the given resolution, oldest first;
+     * for one route, or summed over all routes when {@code url} is {@code null}.
+     */
+    public Series getRecentVisits(String url, Resolution resolution, int points) {
+        long now = clock.millis();
+        long bucketMillis = resolution.getBucket().toMillis();
+        Instant start = Instant.ofEpochMilli((now / bucketMillis - points) * bucketMillis);
+        if (url != null) {
+            RouteCounters counters = urlCounters.get(url);
+            long[] counts = counters == null ? new long[points] : counters.get(resolution).completed(now, points);
+            return new Series(start, resolution.getBucket(), counts);
+        }
+        long[] totals = new long[points];
+        for (RouteCounters counters : urlCounters.values()) {
+            long[] counts = counters.get(resolution).completed(now, points);
+            for (int i = 0; i < points; i++) {
+                totals[i] += counts[i];
+            }
+        }
+        return new Series(start, resolution.getBucket(), totals);
+    }
+
+    /** Visits per route over the current bucket and the {@code points - 1} before it. */
+    public Map<String, Long> getWindowVisits(Resolution resolution, int points) {
+        long now = clock.millis();
+        Map<String, Long> result = new HashMap<>();
+        urlCounters.forEach((k, v) -> {
+            long count = v.get(resolution).sum(now, points);
+            if (count > 0) {
+                result.put(k, count);
+            }
+        });
+        return result;
+    }
+
+    /** Minutes of latency kept per route; {@link #getRequestStats} covers at most this many. */
+    public int getLatencyMinutes() {
+        return latencyMinutes;
+    }
+
+    /**
+     * Latency and status classes over the current minute and the {@code minutes - 1} before it, for every
+     * route that served requests through {@link #recordRequest} in that window.
+     */
+    public Map<String, RequestStats> getRequestStats(int minutes) {
+        long now = clock.millis();
+        Map<String, RequestStats> result = new HashMap<>();
+        urlCounters.forEach((k, v) -> {
+            RequestStats stats = v.latency.sum(now, minutes);
+            if (stats.latency().getTotal() > 0) {
+                result.put(k, stats);
+            }
+        });
+        return result;
+    }
+
+    /** Calls {@code listener} for every route tracked so far and for each route added later. */
+    public void addRouteListener(Consumer<String> listener) {
+        routeListeners.add(listener);
+        urlCounters.keySet().forEach(listener);
+    }
+
+    /**
+     * Visits recorded since the last {@link #markSaved}, as rows to add to the persisted snapshot. Only the
+     * snapshot thread may call this, {@link #markSaved} and {@link #restore}.
+     */
+    public List<SnapshotRow> getUnsavedVisits() {
+        List<SnapshotRow> rows = new ArrayList<>();
+        urlCounters.forEach((route, counters) -> {
+            long total = counters.total.sum() - counters.savedTotal;
+            if (total > 0) {
+                rows.add(new SnapshotRow(route, TOTAL, 0, total));
+            }
+            for (Resolution resolution : PERSISTED_RESOLUTIONS) {
+                counters.get(resolution).forEachUnsaved((bucketStart, visits) ->
+                        rows.add(new SnapshotRow(route, resolution.name(), bucketStart, visits)));
+            }
+        });
+        return rows;
+    }
+
+    public void markSaved(List<SnapshotRow> rows) {
+        for (SnapshotRow row : rows) {
+            RouteCounters counters = urlCounters.get(row.route());
+            if (counters == null) {
+                continue;
+            }
+            if (TOTAL.equals(row.resolution())) {
+                counters.savedTotal += row.visits();
+            } else {
+                counters.get(Resolution.valueOf(row.resolution())).markSaved(row.bucketStartMillis(), row.visits());
+            }
+        }
+    }
+
+    /**
+     * Adds previously persisted visits; they count as already saved. Routes not tracked yet are restored
+     * busiest first and take at most half of {@code max-routes}, so the rest stays free for live routes;
+     * rows of routes beyond that are skipped.
+     */
+    public void restore(List<SnapshotRow> rows) {
+        Map<String, Long> totals = new HashMap<>();
+        for (SnapshotRow row : rows) {
+            totals.merge(row.route(), TOTAL.equals(row.resolution()) ? row.visits() : 0, Long::sum);
+        }
+        Set<String> restored = new HashSet<>();
+        totals.entrySet().stream()
+                .filter(entry -> !urlCounters.containsKey(entry.getKey()))
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+                .limit(Math.max(maxRoutes / 2 - routeCount.get(), 0))
+                .forEach(entry -> restored.add(entry.getKey()));
+
+        for (SnapshotRow row : rows) {
+            RouteCounters counters = urlCounters.get(row.route());
+            if (counters == null) {
+                if (!restored.contains(row.route())) {
+                    continue;
+                }
+                counters = countersFor(row.route());
+            }
+            if (TOTAL.equals(row.resolution())) {
+                counters.total.add(row.visits());
+                counters.savedTotal += row.visits();
+            } else {
+                counters.get(Resolution.valueOf(row.resolution())).restore(row.bucketStartMillis(), row.visits());
+            }
+        }
+    }
+
+    private RouteCounters countersFor(String url) {
+        RouteCounters counters = urlCounters.get(url);
+        return counters != null ? counters : register(url);
+    }
+
+    private RouteCounters register(String url) {
+        // The slot is reserved inside computeIfAbsent, so concurrent first visits cannot exceed the cap
+        boolean[] created = new boolean[1];
+        RouteCounters counters = null;
+        if (routeCount.get() < maxRoutes) {
+            counters = urlCounters.computeIfAbsent(url, k -> {
+                if (routeCount.incrementAndGet() > maxRoutes) {
+                    return null;
+                }
+                created[0] = true;
+                return new RouteCounters(latencyMinutes);
+            });
+        }
+        String key = url;
+        if (counters == null) {
+            key = OVERFLOW_KEY;
+            counters = urlCounters.computeIfAbsent(OVERFLOW_KEY, k -> {
+                created[0] = true;
+                return new RouteCounters(latencyMinutes);
+            });
+        }
+        if (created[0]) {
+            for (Consumer<String> listener : routeListeners) {
+                listener.accept(key);
+            }
+        }
+        return counters;
+    }
+
+    /** Consecutive bucket counts, the first one starting at {@code start}. */
+    public record Series(Instant start, Duration step, long[] counts) {
+    }
+
+    /** Latency histogram snapshot and request counts per status class, 1xx at index 0 to 5xx at index 4. */
+    public record RequestStats(LatencyHistogram.Snapshot latency, long[] statusClasses) {
+    }
+
+    /** Visits of one route in one bucket; {@code bucketStartMillis} is 0 for {@link #TOTAL}. */
+    public record SnapshotRow(String route, String resolution, long bucketStartMillis, long visits) {
+    }
+
+    private static final class RouteCounters {
+        private final LongAdder total = new LongAdder();
+        private long savedTotal;
+        private final RollingCounter[] windows = new RollingCounter[Resolution.values().length];
+        private final RollingLatency latency;
+
+        RouteCounters(int latencyMinutes) {
+            for (Resolution resolution : Resolution.values()) {
+                windows[resolution.ordinal()] = new RollingCounter(resolution);
+            }
+            latency = new RollingLatency(latencyMinutes);
+        }
+
+        void increment(long nowMillis) {
+            total.increment();
+            for (RollingCounter window : windows) {
+                window.increment(nowMillis);
+            }
+        }
+
+        RollingCounter get(Resolution resolution) {
+            return windows[resolution.ordinal()];
+        }
+    }
 }
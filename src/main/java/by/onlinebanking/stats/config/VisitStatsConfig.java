@@ -1,5 +1,7 @@
 package by.onlinebanking.stats.config;
 
+import by.onlinebanking.stats.filter.RequestMdcFilter;
+import by.onlinebanking.stats.filter.SqlStatsFilter;
 import by.onlinebanking.stats.filter.VisitCountingFilter;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
@@ -13,7 +15,25 @@ public class VisitStatsConfig {
         FilterRegistrationBean<VisitCountingFilter> registration = new FilterRegistrationBean<>();
         registration.setFilter(filter);
         registration.addUrlPatterns("/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+
+    @Bean
+    public FilterRegistrationBean<RequestMdcFilter> requestMdcFilterRegistrationBean(RequestMdcFilter filter) {
+        FilterRegistrationBean<RequestMdcFilter> registration = new FilterRegistrationBean<>();
+        registration.setFilter(filter);
+        registration.addUrlPatterns("/*");
         registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
         return registration;
     }
+
+    @Bean
+    public FilterRegistrationBean<SqlStatsFilter> sqlStatsFilterRegistrationBean(SqlStatsFilter filter) {
+        FilterRegistrationBean<SqlStatsFilter> registration = new FilterRegistrationBean<>();
+        registration.setFilter(filter);
+        registration.addUrlPatterns("/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
 }
@@ -0,0 +1,50 @@
+package by.onlinebanking.stats.filter;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.UUID;
+import java.util.regex.Pattern;
+import org.slf4j.MDC;
+import org.springframework.stereotype.Component;
+
+/**
+ * Puts the request id and endpoint into the MDC for every log line written while the request is handled.
+ * An incoming {@code X-Request-Id} is reused when well-formed, so ids can be followed across services;
+ * the id is echoed back in the response. {@code JwtAuthenticationFilter} adds the user id once known.
+ */
+@Component
+public class RequestMdcFilter implements Filter {
+    public static final String REQUEST_ID_HEADER = "X-Request-Id";
+    public static final String REQUEST_ID = "requestId";
+    public static final String USER_ID = "userId";
+    public static final String ENDPOINT = "endpoint";
+
+    private static final Pattern VALID_REQUEST_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        String requestId = httpRequest.getHeader(REQUEST_ID_HEADER);
+        if (requestId == null || !VALID_REQUEST_ID.matcher(requestId).matches()) {
+            requestId = UUID.randomUUID().toString();
+        }
+
+        MDC.put(REQUEST_ID, requestId);
+        MDC.put(ENDPOINT, httpRequest.getMethod() + " " + httpRequest.getRequestURI());
+        ((HttpServletResponse) response).setHeader(REQUEST_ID_HEADER, requestId);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            MDC.remove(REQUEST_ID);
+            MDC.remove(ENDPOINT);
+            MDC.remove(USER_ID);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package by.onlinebanking.stats.filter;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.List;
+import java.util.Objects;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.util.pattern.PathPattern;
+
+/**
+ * Maps a request to the route pattern of its handler (e.g. {@code /api/accounts/{iban}/close}), so that
+ * stats are keyed by route rather than by raw URI. The pattern normally comes from the attribute set by
+ * Spring MVC; requests rejected before reaching the dispatcher (e.g. by security) are matched against the
+ * registered controller mappings, and anything else becomes {@link #UNMATCHED}.
+ */
+@Component
+public class RouteResolver {
+    public static final String UNMATCHED = "UNMATCHED";
+
+    private final ObjectProvider<RequestMappingHandlerMapping> handlerMapping;
+    private volatile List<PathPattern> patterns;
+
+    public RouteResolver(@Qualifier("requestMappingHandlerMapping")
+                         ObjectProvider<RequestMappingHandlerMapping> handlerMapping) {
+        this.handlerMapping = handlerMapping;
+    }
+
+    public String resolve(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern != null) {
+            return pattern.toString();
+        }
+
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String route = match(path);
+        return route != null ? route : UNMATCHED;
+    }
+
+    /** Route pattern of the controller mapping matching {@code path}, or {@code null} if there is none. */
+    public String match(String path) {
+        PathContainer container = PathContainer.parsePath(path);
+        for (PathPattern candidate : getPatterns()) {
+            if (candidate.matches(container)) {
+                return candidate.getPatternString();
+            }
+        }
+        return null;
+    }
+
+    private List<PathPattern> getPatterns() {
+        List<PathPattern> result = patterns;
+        if (result == null) {
+            RequestMappingHandlerMapping mapping = handlerMapping.getIfAvailable();
+            if (mapping == null) {
+                return List.of();
+            }
+            // Most specific first, so /api/users/me wins over /api/users/{id}
+            result = mapping.getHandlerMethods().keySet().stream()
+                    .map(RequestMappingInfo::getPathPatternsCondition)
+                    .filter(Objects::nonNull)
+                    .flatMap(condition -> condition.getPatterns().stream())
+                    .distinct()
+                    .sorted(PathPattern.SPECIFICITY_COMPARATOR)
+                    .toList();
+            patterns = result;
+        }
+        return result;
+    }
+}
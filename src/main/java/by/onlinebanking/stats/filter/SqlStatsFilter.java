@@ -0,0 +1,113 @@
+package by.onlinebanking.stats.filter;
+
+import by.onlinebanking.config.StatsProperties;
+import by.onlinebanking.stats.sql.SqlStats;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts the SQL statements each request runs and the database time they take. Totals are published per
+ * route as {@code banking_request_sql_statements} and {@code banking_request_sql_time_seconds}; requests
+ * above {@code app.stats.sql.warn-statements}, or repeating one statement {@code repeat-threshold} times,
+ * are logged as warnings. With {@code header-enabled}, the totals so far are also sent as response headers
+ * when the response is committed.
+ */
+@Component
+public class SqlStatsFilter implements Filter {
+    public static final String STATEMENTS_HEADER = "X-Sql-Statements";
+    public static final String TIME_HEADER = "X-Sql-Time-Ms";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SqlStatsFilter.class);
+    private static final int MAX_LOGGED_SQL = 300;
+
+    private final RouteResolver routeResolver;
+    private final MeterRegistry meterRegistry;
+    private final StatsProperties.Sql properties;
+
+    public SqlStatsFilter(RouteResolver routeResolver, MeterRegistry meterRegistry,
+                          StatsProperties statsProperties) {
+        this.routeResolver = routeResolver;
+        this.meterRegistry = meterRegistry;
+        this.properties = statsProperties.getSql();
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        SqlStats stats = SqlStats.start();
+        HeaderWritingResponse headerWriter = properties.isHeaderEnabled()
+                ? new HeaderWritingResponse((HttpServletResponse) response, stats)
+                : null;
+        try {
+            chain.doFilter(request, headerWriter != null ? headerWriter : response);
+        } finally {
+            SqlStats.clear();
+            if (headerWriter != null && !response.isCommitted()) {
+                headerWriter.writeHeaders();
+            }
+            report((HttpServletRequest) request, stats);
+        }
+    }
+
+    private void report(HttpServletRequest request, SqlStats stats) {
+        String route = routeResolver.resolve(request);
+        DistributionSummary.builder("banking.request.sql.statements")
+                .description("SQL statements per request")
+                .tag("route", route)
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        Timer.builder("banking.request.sql.time")
+                .description("Database time per request")
+                .tag("route", route)
+                .register(meterRegistry)
+                .record(stats.getElapsedNanos(), TimeUnit.NANOSECONDS);
+
+        if (stats.getStatements() > properties.getWarnStatements()) {
+            LOGGER.warn("{} {} ran {} SQL statements in {} ms", request.getMethod(), route,
+                    stats.getStatements(), TimeUnit.NANOSECONDS.toMillis(stats.getElapsedNanos()));
+        }
+        Map.Entry<String, Integer> repeated = stats.getMostRepeated();
+        if (repeated != null && repeated.getValue() >= properties.getRepeatThreshold()) {
+            LOGGER.warn("Possible N+1 in {} {}: statement ran {} times: {}", request.getMethod(), route,
+                    repeated.getValue(), abbreviate(repeated.getKey()));
+        }
+    }
+
+    private static String abbreviate(String sql) {
+        return sql.length() <= MAX_LOGGED_SQL ? sql : sql.substring(0, MAX_LOGGED_SQL) + "...";
+    }
+
+    private static final class HeaderWritingResponse extends OnCommittedResponseWrapper {
+        private final SqlStats stats;
+
+        HeaderWritingResponse(HttpServletResponse response, SqlStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            writeHeaders();
+        }
+
+        void writeHeaders() {
+            setHeader(STATEMENTS_HEADER, String.valueOf(stats.getStatements()));
+            setHeader(TIME_HEADER, String.valueOf(TimeUnit.NANOSECONDS.toMillis(stats.getElapsedNanos())));
+        }
+    }
+}
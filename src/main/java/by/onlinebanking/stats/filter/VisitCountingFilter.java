@@ -7,24 +7,33 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.ServletRequest;
 import jakarta.servlet.ServletResponse;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import org.springframework.stereotype.Component;
 
 @Component
 public class VisitCountingFilter implements Filter {
     private final VisitCounterService visitCounterService;
+    private final RouteResolver routeResolver;
 
-    public VisitCountingFilter(VisitCounterService visitCounterService) {
+    public VisitCountingFilter(VisitCounterService visitCounterService, RouteResolver routeResolver) {
         this.visitCounterService = visitCounterService;
+        this.routeResolver = routeResolver;
     }
 
     @Override
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
             throws IOException, ServletException {
-        HttpServletRequest httpRequest = (HttpServletRequest) request;
-        String uri = httpRequest.getRequestURI();
-
-        visitCounterService.recordVisit(uri);
-        chain.doFilter(request, response);
+        // The route pattern is only known once the dispatcher has picked a handler
+        long start = System.nanoTime();
+        boolean completed = false;
+        try {
+            chain.doFilter(request, response);
+            completed = true;
+        } finally {
+            int status = completed ? ((HttpServletResponse) response).getStatus() : 500;
+            visitCounterService.recordRequest(routeResolver.resolve((HttpServletRequest) request), status,
+                    System.nanoTime() - start);
+        }
     }
 }
@@ -1,19 +1,55 @@
 package by.onlinebanking.stats.service;
 
+import by.onlinebanking.dto.stats.RouteLatencyDto;
+import by.onlinebanking.dto.stats.RouteVisitsDto;
+import by.onlinebanking.dto.stats.TopKeyDto;
+import by.onlinebanking.dto.stats.VisitRateDto;
+import by.onlinebanking.exception.ValidationException;
+import by.onlinebanking.stats.HeavyHitterTracker;
+import by.onlinebanking.stats.LatencyHistogram;
+import by.onlinebanking.stats.Resolution;
 import by.onlinebanking.stats.VisitStats;
+import by.onlinebanking.stats.filter.RouteResolver;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import org.springframework.boot.convert.DurationStyle;
 import org.springframework.stereotype.Service;
 
 @Service
 public class VisitCounterService {
+    private static final int MAX_TOP = 100;
+
     private final VisitStats visitStats;
+    private final HeavyHitterTracker heavyHitterTracker;
+    private final RouteResolver routeResolver;
 
-    public VisitCounterService(VisitStats visitStats) {
+    public VisitCounterService(VisitStats visitStats,
+                               HeavyHitterTracker heavyHitterTracker,
+                               RouteResolver routeResolver) {
         this.visitStats = visitStats;
+        this.heavyHitterTracker = heavyHitterTracker;
+        this.routeResolver = routeResolver;
     }
 
+    /**
+     * Records a visit reported by a client. Only paths of known routes are accepted and counted under their
+     * pattern, so arbitrary keys cannot fill the route cap or end up in the persisted stats.
+     */
     public void recordVisit(String url) {
-        visitStats.recordVisit(url);
+        String route = routeResolver.match(url);
+        if (route == null) {
+            throw new ValidationException("Unknown route").addDetail("url", url);
+        }
+        visitStats.recordVisit(route);
+    }
+
+    public void recordRequest(String url, int status, long durationNanos) {
+        visitStats.recordRequest(url, status, durationNanos);
     }
 
     public long getVisitCount(String url) {
@@ -23,4 +59,135 @@ public class VisitCounterService {
     public Map<String, Long> getAllStats() {
         return visitStats.getAllStats();
     }
+
+    public List<VisitRateDto> getVisitRate(String resolution, int points, String route) {
+        Resolution parsed = parseResolution(resolution);
+        if (points < 1 || points > parsed.getMaxPoints()) {
+            throw new ValidationException("Points are out of range")
+                    .addDetail("points", points)
+                    .addDetail("max", parsed.getMaxPoints());
+        }
+
+        VisitStats.Series series = visitStats.getRecentVisits(route, parsed, points);
+        double stepSeconds = series.step().toMillis() / 1000.0;
+        List<VisitRateDto> rates = new ArrayList<>(points);
+        for (int i = 0; i < points; i++) {
+            long visits = series.counts()[i];
+            rates.add(new VisitRateDto(series.start().plus(series.step().multipliedBy(i)),
+                    visits, visits / stepSeconds));
+        }
+        return rates;
+    }
+
+    public List<RouteVisitsDto> getTopRoutes(String window, int limit) {
+        Duration duration = parseWindow(window);
+        Resolution resolution = Resolution.covering(duration);
+        if (resolution == null || duration.compareTo(Resolution.SECOND.getBucket()) < 0) {
+            throw new ValidationException("Window is out of range")
+                    .addDetail("window", window)
+                    .addDetail("max", Resolution.HOUR.getBucket().multipliedBy(Resolution.HOUR.getMaxPoints()));
+        }
+        validateLimit(limit);
+
+        long bucketMillis = resolution.getBucket().toMillis();
+        int points = (int) ((duration.toMillis() + bucketMillis - 1) / bucketMillis);
+        return visitStats.getWindowVisits(resolution, points).entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+                .limit(limit)
+                .map(entry -> new RouteVisitsDto(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    /** Keys of {@code dimension} with the most estimated hits over {@code window}, rounded up to whole minutes. */
+    public List<TopKeyDto> getTopKeys(String dimension, String window, int limit) {
+        HeavyHitterTracker.Dimension parsed = parseDimension(dimension);
+        Duration duration = parseWindow(window);
+        Duration max = Resolution.MINUTE.getBucket().multipliedBy(Resolution.MINUTE.getMaxPoints());
+        if (duration.isNegative() || duration.isZero() || duration.compareTo(max) > 0) {
+            throw new ValidationException("Window is out of range")
+                    .addDetail("window", window)
+                    .addDetail("max", max);
+        }
+        validateLimit(limit);
+
+        long bucketMillis = Resolution.MINUTE.getBucket().toMillis();
+        int minutes = (int) ((duration.toMillis() + bucketMillis - 1) / bucketMillis);
+        return heavyHitterTracker.top(parsed, minutes, limit).stream()
+                .map(entry -> new TopKeyDto(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    /**
+     * Latency percentiles per route over {@code window}, rounded up to whole minutes, slowest p99 first,
+     * or only for {@code route} if given.
+     */
+    public List<RouteLatencyDto> getLatencies(String window, String route) {
+        Duration duration = parseWindow(window);
+        Duration max = Resolution.MINUTE.getBucket().multipliedBy(visitStats.getLatencyMinutes());
+        if (duration.isNegative() || duration.isZero() || duration.compareTo(max) > 0) {
+            throw new ValidationException("Window is out of range")
+                    .addDetail("window", window)
+                    .addDetail("max", max);
+        }
+
+        long bucketMillis = Resolution.MINUTE.getBucket().toMillis();
+        int minutes = (int) ((duration.toMillis() + bucketMillis - 1) / bucketMillis);
+        return visitStats.getRequestStats(minutes).entrySet().stream()
+                .filter(entry -> route == null || route.equals(entry.getKey()))
+                .map(entry -> toLatencyDto(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparingDouble(RouteLatencyDto::getP99Ms).reversed())
+                .toList();
+    }
+
+    private RouteLatencyDto toLatencyDto(String route, VisitStats.RequestStats stats) {
+        LatencyHistogram.Snapshot latency = stats.latency();
+        Map<String, Long> statusClasses = new LinkedHashMap<>();
+        for (int i = 0; i < stats.statusClasses().length; i++) {
+            if (stats.statusClasses()[i] > 0) {
+                statusClasses.put((i + 1) + "xx", stats.statusClasses()[i]);
+            }
+        }
+        return new RouteLatencyDto(route, latency.getTotal(),
+                toMillis(latency.getValueAtPercentile(50)),
+                toMillis(latency.getValueAtPercentile(95)),
+                toMillis(latency.getValueAtPercentile(99)),
+                toMillis(latency.getMax()),
+                statusClasses);
+    }
+
+    private static double toMillis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private void validateLimit(int limit) {
+        if (limit < 1 || limit > MAX_TOP) {
+            throw new ValidationException("Limit is out of range")
+                    .addDetail("limit", limit)
+                    .addDetail("max", MAX_TOP);
+        }
+    }
+
+    private HeavyHitterTracker.Dimension parseDimension(String dimension) {
+        try {
+            return HeavyHitterTracker.Dimension.valueOf(dimension.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Unknown dimension").addDetail("dimension", dimension);
+        }
+    }
+
+    private Resolution parseResolution(String resolution) {
+        try {
+            return Resolution.valueOf(resolution.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Unknown resolution").addDetail("resolution", resolution);
+        }
+    }
+
+    private Duration parseWindow(String window) {
+        try {
+            return DurationStyle.detectAndParse(window);
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Invalid window (e.g. 30s, 5m, 1h)").addDetail("window", window);
+        }
+    }
 }
@@ -0,0 +1,159 @@
+package by.onlinebanking.stats.service;
+
+import by.onlinebanking.config.StatsProperties;
+import by.onlinebanking.stats.Resolution;
+import by.onlinebanking.stats.VisitStats;
+import by.onlinebanking.stats.VisitStats.SnapshotRow;
+import jakarta.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Keeps {@link VisitStats} across restarts. On startup the persisted totals visited within
+ * {@code total-retention} and the minute/hour buckets still inside their windows are loaded; afterwards
+ * a background thread periodically adds the visits recorded since the previous snapshot with one batched
+ * upsert, never touching the request path. Rows are incremented rather than overwritten, so with several
+ * instances they hold the sum over all of them.
+ */
+@Component
+public class VisitStatsPersister implements CommandLineRunner {
+    private static final Logger LOGGER = LoggerFactory.getLogger(VisitStatsPersister.class);
+    private static final int MAX_ROUTE_LENGTH = 512;
+
+    private static final String UPSERT = "INSERT INTO visit_stats "
+            + "(route, resolution, bucket_start, visits, last_visit) VALUES (?, ?, ?, ?, ?) "
+            + "ON CONFLICT (route, resolution, bucket_start) "
+            + "DO UPDATE SET visits = visit_stats.visits + EXCLUDED.visits, last_visit = EXCLUDED.last_visit";
+    private static final String SELECT = "SELECT route, resolution, bucket_start, visits FROM visit_stats "
+            + "WHERE resolution = ? AND bucket_start >= ?";
+    private static final String SELECT_TOTALS = "SELECT route, resolution, bucket_start, visits FROM visit_stats "
+            + "WHERE resolution = ? AND last_visit >= ?";
+    private static final String DELETE_EXPIRED = "DELETE FROM visit_stats WHERE resolution = ? AND bucket_start < ?";
+    private static final String DELETE_EXPIRED_TOTALS =
+            "DELETE FROM visit_stats WHERE resolution = ? AND last_visit < ?";
+    // Rows written before last_visit existed start their retention now instead of being dropped at once
+    private static final String BACKFILL_LAST_VISIT = "UPDATE visit_stats SET last_visit = ? WHERE last_visit IS NULL";
+
+    // Same key order in every batch, so concurrent upserts from several instances cannot deadlock
+    private static final Comparator<SnapshotRow> KEY_ORDER = Comparator.comparing(SnapshotRow::route)
+            .thenComparing(SnapshotRow::resolution)
+            .thenComparingLong(SnapshotRow::bucketStartMillis);
+
+    private final VisitStats visitStats;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final StatsProperties.Persistence settings;
+    private final ScheduledExecutorService snapshotExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "visit-stats-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public VisitStatsPersister(VisitStats visitStats,
+                               JdbcTemplate jdbcTemplate,
+                               TransactionTemplate transactionTemplate,
+                               StatsProperties statsProperties) {
+        this.visitStats = visitStats;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.settings = statsProperties.getPersistence();
+    }
+
+    @Override
+    public void run(String... args) {
+        if (!settings.isEnabled()) {
+            return;
+        }
+        load();
+        long intervalMillis = settings.getInterval().toMillis();
+        snapshotExecutor.scheduleWithFixedDelay(this::save, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        snapshotExecutor.shutdown();
+        try {
+            if (snapshotExecutor.awaitTermination(5, TimeUnit.SECONDS) && settings.isEnabled()) {
+                save();
+            }
+        } catch (InterruptedException e) {
+            snapshotExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    void load() {
+        try {
+            jdbcTemplate.update(BACKFILL_LAST_VISIT, Timestamp.from(Instant.now()));
+            List<SnapshotRow> rows = new ArrayList<>(query(SELECT_TOTALS, VisitStats.TOTAL, totalRetentionStart()));
+            for (Resolution resolution : VisitStats.PERSISTED_RESOLUTIONS) {
+                rows.addAll(query(SELECT, resolution.name(), windowStart(resolution)));
+            }
+            visitStats.restore(rows);
+            LOGGER.info("Visit stats restored | Rows: {}", rows.size());
+        } catch (DataAccessException e) {
+            LOGGER.warn("Could not restore visit stats: {}", e.getMessage());
+        }
+    }
+
+    void save() {
+        List<SnapshotRow> rows = visitStats.getUnsavedVisits();
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<SnapshotRow> batch = rows.stream()
+                .filter(row -> row.route().length() <= MAX_ROUTE_LENGTH)
+                .sorted(KEY_ORDER)
+                .toList();
+        Timestamp now = Timestamp.from(Instant.now());
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(UPSERT, batch, settings.getBatchSize(), (statement, row) -> {
+                    statement.setString(1, row.route());
+                    statement.setString(2, row.resolution());
+                    statement.setTimestamp(3, new Timestamp(row.bucketStartMillis()));
+                    statement.setLong(4, row.visits());
+                    statement.setTimestamp(5, now);
+                });
+                for (Resolution resolution : VisitStats.PERSISTED_RESOLUTIONS) {
+                    jdbcTemplate.update(DELETE_EXPIRED, resolution.name(), Timestamp.from(windowStart(resolution)));
+                }
+                jdbcTemplate.update(DELETE_EXPIRED_TOTALS, VisitStats.TOTAL, Timestamp.from(totalRetentionStart()));
+            });
+            // Routes too long for the column are dropped rather than retried forever
+            visitStats.markSaved(rows);
+        } catch (DataAccessException | TransactionException e) {
+            LOGGER.warn("Could not save visit stats, will retry | Rows: {} | Error: {}", rows.size(), e.getMessage());
+        }
+    }
+
+    private List<SnapshotRow> query(String sql, String resolution, Instant from) {
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new SnapshotRow(
+                rs.getString("route"),
+                rs.getString("resolution"),
+                rs.getTimestamp("bucket_start").getTime(),
+                rs.getLong("visits")), resolution, Timestamp.from(from));
+    }
+
+    private Instant totalRetentionStart() {
+        return Instant.now().minus(settings.getTotalRetention());
+    }
+
+    private static Instant windowStart(Resolution resolution) {
+        return Instant.now().minus(resolution.getBucket().multipliedBy(resolution.getMaxPoints() + 1L));
+    }
+}
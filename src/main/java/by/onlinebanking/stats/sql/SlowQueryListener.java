@@ -0,0 +1,60 @@
+package by.onlinebanking.stats.sql;
+
+import java.time.Duration;
+import java.util.List;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Logs statements slower than {@code app.stats.sql.slow-query-threshold} with their parameters, rendered by
+ * {@link SqlParameterRedactor}, and the application method that issued them. The caller is found by walking
+ * the stack, which only happens for statements that are logged.
+ */
+public class SlowQueryListener implements QueryExecutionListener {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SlowQueryListener.class);
+    private static final String APPLICATION_PACKAGE = "by.onlinebanking.";
+    private static final String OWN_PACKAGE = SlowQueryListener.class.getPackageName() + ".";
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    private final long thresholdMillis;
+    private final SqlParameterRedactor redactor;
+
+    public SlowQueryListener(Duration threshold, SqlParameterRedactor redactor) {
+        this.thresholdMillis = threshold.toMillis();
+        this.redactor = redactor;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        // Timing comes from the proxy
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (execInfo.getElapsedTime() < thresholdMillis || !LOGGER.isWarnEnabled() || queryInfoList.isEmpty()) {
+            return;
+        }
+        QueryInfo query = queryInfoList.get(0);
+        String parameters = query.getParametersList().isEmpty()
+                ? "[]"
+                : redactor.render(query.getQuery(), query.getParametersList().get(0));
+        String batch = execInfo.isBatch() ? " (batch of " + execInfo.getBatchSize() + ")" : "";
+        LOGGER.warn("Slow SQL{} took {} ms in {}{}: {} | Parameters: {}", batch, execInfo.getElapsedTime(),
+                caller(), execInfo.isSuccess() ? "" : " and failed", query.getQuery(), parameters);
+    }
+
+    /** First application frame outside this package and Spring proxies, e.g. {@code UserService.createUser}. */
+    private static String caller() {
+        return STACK_WALKER.walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith(APPLICATION_PACKAGE)
+                        && !frame.getClassName().startsWith(OWN_PACKAGE)
+                        && !frame.getClassName().contains("$$"))
+                .findFirst()
+                .map(frame -> frame.getClassName().substring(frame.getClassName().lastIndexOf('.') + 1)
+                        + "." + frame.getMethodName())
+                .orElse("unknown"));
+    }
+}
@@ -0,0 +1,147 @@
+package by.onlinebanking.stats.sql;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+/**
+ * Renders the bound parameters of a statement for the slow-statement log. Each {@code ?} is matched to the
+ * column it is compared with or inserted into, and values of redacted columns, or of placeholders whose
+ * column cannot be told from the SQL, are shown as {@code ***}. The SQL is parsed only when a statement is
+ * actually logged, so no cache is kept.
+ */
+public final class SqlParameterRedactor {
+    private static final String REDACTED = "***";
+    private static final int MAX_VALUE_LENGTH = 100;
+    private static final Set<String> OPERATOR_WORDS = Set.of("like", "ilike", "in", "not", "is");
+    /** Words that can directly precede a placeholder without naming its column. */
+    private static final Set<String> CLAUSE_WORDS = Set.of("select", "where", "and", "or", "set", "values",
+            "when", "then", "else", "case", "on", "having");
+
+    private final Set<String> redactedColumns;
+
+    public SqlParameterRedactor(Collection<String> redactedColumns) {
+        this.redactedColumns = redactedColumns.stream()
+                .map(column -> column.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    public String render(String sql, List<ParameterSetOperation> parameters) {
+        List<String> columns = placeholderColumns(sql);
+        Map<Integer, Object> values = new TreeMap<>();
+        for (ParameterSetOperation parameter : parameters) {
+            Object[] args = parameter.getArgs();
+            if (args.length > 0 && args[0] instanceof Integer index) {
+                values.put(index, ParameterSetOperation.isSetNullParameterOperation(parameter)
+                        ? null : args.length > 1 ? args[1] : null);
+            }
+        }
+
+        List<String> rendered = new ArrayList<>(values.size());
+        values.forEach((index, value) -> {
+            String column = index - 1 < columns.size() ? columns.get(index - 1) : null;
+            rendered.add(column == null || redactedColumns.contains(column) ? REDACTED : renderValue(value));
+        });
+        return rendered.toString();
+    }
+
+    /** Column name for each placeholder in order, or {@code null} where it cannot be determined. */
+    private static List<String> placeholderColumns(String sql) {
+        String lower = sql.toLowerCase(Locale.ROOT);
+        List<String> columns = new ArrayList<>();
+        int valuesEnd = -1;
+        if (lower.stripLeading().startsWith("insert")) {
+            valuesEnd = insertColumns(lower, columns);
+        }
+
+        boolean quoted = false;
+        for (int i = Math.max(valuesEnd, 0); i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            if (c == '\'') {
+                quoted = !quoted;
+            } else if (c == '?' && !quoted) {
+                columns.add(precedingColumn(lower, i));
+            }
+        }
+        return columns;
+    }
+
+    /** Adds one column per placeholder of {@code insert ... (columns) values (...)} and returns where it ends. */
+    private static int insertColumns(String sql, List<String> columns) {
+        int listStart = sql.indexOf('(');
+        int listEnd = sql.indexOf(')', listStart + 1);
+        int valuesStart = sql.indexOf("values", listEnd + 1);
+        int valuesOpen = valuesStart < 0 ? -1 : sql.indexOf('(', valuesStart);
+        if (listStart < 0 || listEnd < 0 || valuesOpen < 0) {
+            return -1;
+        }
+        String[] names = sql.substring(listStart + 1, listEnd).split(",");
+
+        int depth = 0;
+        int item = 0;
+        for (int i = valuesOpen + 1; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '(') {
+                depth++;
+            } else if (c == ')' && depth-- == 0) {
+                return i + 1;
+            } else if (c == ',' && depth == 0) {
+                item++;
+            } else if (c == '?') {
+                columns.add(item < names.length ? unqualified(names[item].trim()) : null);
+            }
+        }
+        return sql.length();
+    }
+
+    private static String precedingColumn(String sql, int placeholder) {
+        int i = placeholder - 1;
+        while (i >= 0) {
+            char c = sql.charAt(i);
+            if (Character.isWhitespace(c) || "=<>!(,?".indexOf(c) >= 0) {
+                i--;
+                continue;
+            }
+            int end = i + 1;
+            while (i >= 0 && isIdentifierPart(sql.charAt(i))) {
+                i--;
+            }
+            String word = sql.substring(i + 1, end);
+            if (word.isEmpty() || CLAUSE_WORDS.contains(word)) {
+                return null;
+            }
+            if (!OPERATOR_WORDS.contains(word)) {
+                return unqualified(word);
+            }
+        }
+        return null;
+    }
+
+    private static boolean isIdentifierPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '.';
+    }
+
+    private static String unqualified(String name) {
+        return name.substring(name.lastIndexOf('.') + 1);
+    }
+
+    private static String renderValue(Object value) {
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof byte[] bytes) {
+            return "<" + bytes.length + " bytes>";
+        }
+        String text = value.toString();
+        if (text.length() > MAX_VALUE_LENGTH) {
+            text = text.substring(0, MAX_VALUE_LENGTH) + "...";
+        }
+        return value instanceof CharSequence ? "'" + text + "'" : text;
+    }
+}
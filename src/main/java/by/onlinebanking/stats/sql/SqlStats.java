@@ -0,0 +1,57 @@
+package by.onlinebanking.stats.sql;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * SQL statements executed on the current thread while serving one request: how many, how long the database
+ * took, and how often each distinct statement ran, which is how N+1 selects show up. Started and cleared by
+ * {@code SqlStatsFilter}; statements on threads without a current instance (startup, async tasks) are not
+ * counted. Only the request thread touches an instance, so it needs no synchronization.
+ */
+public final class SqlStats {
+    private static final ThreadLocal<SqlStats> CURRENT = new ThreadLocal<>();
+    /** Distinct statements tracked per request; further ones still count towards the totals. */
+    private static final int MAX_DISTINCT = 256;
+
+    private final Map<String, Integer> executions = new HashMap<>();
+    private int statements;
+    private long elapsedNanos;
+
+    public static SqlStats start() {
+        SqlStats stats = new SqlStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static SqlStats current() {
+        return CURRENT.get();
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    public void record(String sql, long nanos) {
+        statements++;
+        elapsedNanos += nanos;
+        if (executions.size() < MAX_DISTINCT || executions.containsKey(sql)) {
+            executions.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /** The statement executed most often with its count, or {@code null} if none ran. */
+    public Map.Entry<String, Integer> getMostRepeated() {
+        return executions.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .orElse(null);
+    }
+}
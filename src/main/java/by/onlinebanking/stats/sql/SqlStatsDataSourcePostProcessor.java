@@ -0,0 +1,37 @@
+package by.onlinebanking.stats.sql;
+
+import by.onlinebanking.config.StatsProperties;
+import javax.sql.DataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Wraps data sources in a datasource-proxy that reports statements to {@link SqlStatsListener} and
+ * {@link SlowQueryListener}. The pool stays the target, so connection handling and pool metrics are unchanged.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.stats.sql", name = "enabled", matchIfMissing = true)
+public class SqlStatsDataSourcePostProcessor implements BeanPostProcessor {
+    private final ObjectProvider<StatsProperties> statsProperties;
+
+    public SqlStatsDataSourcePostProcessor(ObjectProvider<StatsProperties> statsProperties) {
+        this.statsProperties = statsProperties;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+            StatsProperties.Sql sql = statsProperties.getIfAvailable(StatsProperties::new).getSql();
+            return ProxyDataSourceBuilder.create(beanName, dataSource)
+                    .listener(new SqlStatsListener())
+                    .listener(new SlowQueryListener(sql.getSlowQueryThreshold(),
+                            new SqlParameterRedactor(sql.getRedactedColumns())))
+                    .build();
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,34 @@
+package by.onlinebanking.stats.sql;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+/** Adds every statement executed through the proxied data source to the current {@link SqlStats}. */
+public class SqlStatsListener implements QueryExecutionListener {
+    private static final String START = SqlStatsListener.class.getName() + ".start";
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (SqlStats.current() != null) {
+            execInfo.addCustomValue(START, System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        SqlStats stats = SqlStats.current();
+        if (stats == null) {
+            return;
+        }
+        // The proxy only measures whole milliseconds, which rounds most statements down to zero
+        Long start = execInfo.getCustomValue(START, Long.class);
+        long nanos = start != null
+                ? System.nanoTime() - start
+                : TimeUnit.MILLISECONDS.toNanos(execInfo.getElapsedTime());
+        String sql = queryInfoList.isEmpty() ? "" : queryInfoList.get(0).getQuery();
+        stats.record(sql, nanos);
+    }
+}
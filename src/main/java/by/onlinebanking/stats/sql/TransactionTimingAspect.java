@@ -0,0 +1,68 @@
+package by.onlinebanking.stats.sql;
+
+import by.onlinebanking.config.StatsProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Times database transactions started by {@code @Transactional} service methods, from begin to commit or
+ * rollback, as {@code banking_db_transactions_seconds{method=...}}. Transactions held longer than
+ * {@code app.stats.sql.slow-transaction-threshold} are logged, which is where long-held row locks show up.
+ * Runs outside the transaction interceptor; calls that join a transaction already in progress are not timed.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class TransactionTimingAspect {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TransactionTimingAspect.class);
+
+    private final MeterRegistry meterRegistry;
+    private final long thresholdNanos;
+
+    public TransactionTimingAspect(MeterRegistry meterRegistry, StatsProperties statsProperties) {
+        this.meterRegistry = meterRegistry;
+        this.thresholdNanos = statsProperties.getSql().getSlowTransactionThreshold().toNanos();
+    }
+
+    @Around("execution(* by.onlinebanking..service..*(..))"
+            + " && (@annotation(org.springframework.transaction.annotation.Transactional)"
+            + " || @annotation(jakarta.transaction.Transactional))")
+    public Object timeTransaction(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+
+        long start = System.nanoTime();
+        String outcome = "commit";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable ex) {
+            outcome = "rollback";
+            throw ex;
+        } finally {
+            long elapsedNanos = System.nanoTime() - start;
+            String method = joinPoint.getSignature().getDeclaringType().getSimpleName()
+                    + "." + joinPoint.getSignature().getName();
+            Timer.builder("banking.db.transactions")
+                    .description("Database transactions started by service methods")
+                    .tag("method", method)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(elapsedNanos, TimeUnit.NANOSECONDS);
+            if (elapsedNanos >= thresholdNanos) {
+                LOGGER.warn("Slow transaction in {} held for {} ms ({})", method,
+                        TimeUnit.NANOSECONDS.toMillis(elapsedNanos), outcome);
+            }
+        }
+    }
+}
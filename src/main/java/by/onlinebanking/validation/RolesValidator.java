@@ -1,10 +1,12 @@
 package by.onlinebanking.validation;
 
+import by.onlinebanking.cache.RoleRegistry;
 import by.onlinebanking.dto.role.RoleDto;
 import by.onlinebanking.exception.ValidationException;
 import by.onlinebanking.model.Role;
-import by.onlinebanking.repository.RoleRepository;
-import java.util.Optional;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,23 +14,34 @@ import org.springframework.stereotype.Component;
 
 @Component
 public class RolesValidator {
-    private final RoleRepository roleRepository;
+    private final RoleRegistry roleRegistry;
 
     @Autowired
-    public RolesValidator(RoleRepository roleRepository) {
-        this.roleRepository = roleRepository;
+    public RolesValidator(RoleRegistry roleRegistry) {
+        this.roleRegistry = roleRegistry;
     }
 
     public Set<Role> validateAndFindRoles(Set<RoleDto> roleDtos) {
-        return roleDtos.stream()
-                .map(roleDto -> {
-                    Optional<Role> optionalRole = roleRepository.findByName(roleDto.getName());
-                    if (optionalRole.isEmpty()) {
-                        throw new ValidationException("Role not found")
-                                .addDetail("roleName", roleDto.getName());
-                    }
-                    return optionalRole.get();
-                })
-                .collect(Collectors.toSet());
+        return validateRoles(roleDtos, findRoles(roleDtos));
+    }
+
+    /** Looks up the roles of several requests at once; check each request with {@link #validateRoles}. */
+    public Map<String, Role> findRoles(Collection<RoleDto> roleDtos) {
+        return roleRegistry.findAllByName(roleDtos.stream()
+                .map(RoleDto::getName)
+                .collect(Collectors.toSet()));
+    }
+
+    public Set<Role> validateRoles(Set<RoleDto> roleDtos, Map<String, Role> rolesByName) {
+        Set<Role> roles = new HashSet<>();
+        for (RoleDto roleDto : roleDtos) {
+            Role role = rolesByName.get(roleDto.getName());
+            if (role == null) {
+                throw new ValidationException("Role not found")
+                        .addDetail("roleName", roleDto.getName());
+            }
+            roles.add(role);
+        }
+        return roles;
     }
 }
@@ -21,25 +21,17 @@ public class TransactionValidator {
     }
 
     public void validateTransaction(BaseTransactionDto transactionRequest) {
-        validateAccountStatuses(transactionRequest);
-
-        if (transactionRequest.getTransactionType() == TransactionType.TRANSFER) {
-            validateTransfer((TransferTransactionDto) transactionRequest);
-        } else {
-            validateAccountOperation((SingleAccountTransactionDto) transactionRequest);
-        }
-    }
-
-    private void validateAccountStatuses(BaseTransactionDto transactionRequest) {
+        // Each account is loaded once and shared by the status and the operation checks
         switch (transactionRequest.getTransactionType()) {
             case TRANSFER -> {
                 TransferTransactionDto transferRequest = (TransferTransactionDto) transactionRequest;
-                validateAccountStatus(transferRequest.getFromIban(), "Sender account");
-                validateAccountStatus(transferRequest.getToIban(), "Receiver account");
+                Account fromAccount = findOpenAccount(transferRequest.getFromIban(), "Sender account");
+                Account toAccount = findOpenAccount(transferRequest.getToIban(), "Receiver account");
+                validateTransfer(transferRequest, fromAccount, toAccount);
             }
             case DEPOSIT, WITHDRAWAL -> {
                 SingleAccountTransactionDto singleRequest = (SingleAccountTransactionDto) transactionRequest;
-                validateAccountStatus(singleRequest.getIban(), "Account");
+                validateAccountOperation(singleRequest, findOpenAccount(singleRequest.getIban(), "Account"));
             }
 
             default -> throw new ValidationException("Invalid transaction type")
@@ -47,7 +39,7 @@ public class TransactionValidator {
         }
     }
 
-    private void validateAccountStatus(String iban, String accountType) {
+    private Account findOpenAccount(String iban, String accountType) {
         Account account = accountRepository.findByIban(iban)
                 .orElseThrow(() -> new ValidationException(accountType + " not found: ")
                         .addDetail("iban", iban));
@@ -56,23 +48,16 @@ public class TransactionValidator {
             throw new ValidationException(accountType + " is closed: ")
                     .addDetail("iban", iban);
         }
+        return account;
     }
 
-    private void validateTransfer(TransferTransactionDto transactionRequest) {
+    private void validateTransfer(TransferTransactionDto transactionRequest, Account fromAccount, Account toAccount) {
         if (transactionRequest.getFromIban().equals(transactionRequest.getToIban())) {
             throw new ValidationException("Sender and receiver account cannot be the same")
                     .addDetail("fromIban", transactionRequest.getFromIban())
                     .addDetail("toIban", transactionRequest.getToIban());
         }
 
-        Account fromAccount = accountRepository.findByIban(transactionRequest.getFromIban())
-                .orElseThrow(() -> new ValidationException("Sender account not found")
-                .addDetail("fromIban", transactionRequest.getFromIban()));
-
-        Account toAccount = accountRepository.findByIban(transactionRequest.getToIban())
-                .orElseThrow(() -> new ValidationException("Receiver account not found")
-                .addDetail("toIban", transactionRequest.getToIban()));
-
         if (!fromAccount.getCurrency().equals(toAccount.getCurrency())) {
             throw new ValidationException("Sender account currency does not match receiver account currency")
                     .addDetail("senderCurrency", transactionRequest.getCurrency())
@@ -90,11 +75,7 @@ public class TransactionValidator {
         }
     }
 
-    private void validateAccountOperation(SingleAccountTransactionDto transactionRequest) {
-        Account account = accountRepository.findByIban(transactionRequest.getIban())
-                .orElseThrow(() -> new ValidationException("Account not found")
-                .addDetail("iban", transactionRequest.getIban()));
-
+    private void validateAccountOperation(SingleAccountTransactionDto transactionRequest, Account account) {
         if (!account.getCurrency().equals(transactionRequest.getCurrency())) {
             throw new ValidationException("Account currency does not match transaction currency")
                     .addDetail("currency", transactionRequest.getCurrency());
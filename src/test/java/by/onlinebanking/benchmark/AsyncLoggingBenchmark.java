@@ -0,0 +1,145 @@
+package by.onlinebanking.benchmark;
+
+import by.onlinebanking.logging.appender.DropCountingAsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.support.ResourcePropertySource;
+
+/**
+ * Per-call latency distribution (see the p0.99 line of the SampleTime output) of a request thread logging
+ * the way {@code LoggingAspect} does, with logging off, written synchronously to a file, and handed off
+ * to {@link DropCountingAsyncAppender}. The async appender uses the queue size and discarding threshold
+ * configured under {@code app.logging.async.*}, and runs both with the default blocking behaviour at a full
+ * queue ({@code ASYNC_BLOCKING}) and in never-block mode ({@code ASYNC_NEVER_BLOCK}); the events each
+ * one dropped are reported as the {@code discarded} and {@code overflowed} secondary results.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class AsyncLoggingBenchmark {
+    private static final String PATTERN = "%d{yyyy-MM-dd HH:mm:ss} [%thread] %-5level %logger{36} - %msg%n";
+
+    @Param({"OFF", "SYNC", "ASYNC_BLOCKING", "ASYNC_NEVER_BLOCK"})
+    public String mode;
+
+    private LoggerContext loggerContext;
+    private Logger logger;
+    private DropCountingAsyncAppender asyncAppender;
+    private Path logFile;
+    private final Object[] arguments = {"by.onlinebanking.dto.user.UpdateUserDto@1b2c3d", 42L, "ACTIVE"};
+
+    @Setup
+    public void setUp() throws IOException {
+        logFile = Files.createTempFile("async-logging-benchmark", ".log");
+        loggerContext = new LoggerContext();
+        // Async appenders copy the MDC of every event; without an adapter each append fails
+        loggerContext.setMDCAdapter(new LogbackMDCAdapter());
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(loggerContext);
+        encoder.setPattern(PATTERN);
+        encoder.start();
+
+        FileAppender<ILoggingEvent> fileAppender = new FileAppender<>();
+        fileAppender.setContext(loggerContext);
+        fileAppender.setName("FILE");
+        fileAppender.setFile(logFile.toString());
+        fileAppender.setEncoder(encoder);
+        fileAppender.start();
+
+        Appender<ILoggingEvent> appender = fileAppender;
+        if (mode.startsWith("ASYNC")) {
+            StandardEnvironment environment = new StandardEnvironment();
+            environment.getPropertySources().addLast(new ResourcePropertySource("classpath:application.properties"));
+            asyncAppender = new DropCountingAsyncAppender();
+            asyncAppender.setContext(loggerContext);
+            asyncAppender.setName("ASYNC_FILE");
+            asyncAppender.setQueueSize(environment.getRequiredProperty("app.logging.async.queue-size", Integer.class));
+            asyncAppender.setDiscardingThreshold(
+                    environment.getRequiredProperty("app.logging.async.discarding-threshold", Integer.class));
+            asyncAppender.setNeverBlock("ASYNC_NEVER_BLOCK".equals(mode));
+            asyncAppender.addAppender(fileAppender);
+            asyncAppender.start();
+            appender = asyncAppender;
+        }
+
+        logger = loggerContext.getLogger("by.onlinebanking.logging.aspect.LoggingAspect");
+        logger.setLevel("OFF".equals(mode) ? Level.OFF : Level.INFO);
+        logger.addAppender(appender);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        loggerContext.stop();
+        Files.deleteIfExists(logFile);
+    }
+
+    @Benchmark
+    public void logMethodInvocation(DropCounters dropCounters) {
+        logger.info("Method invocation: {} | Arguments: {}", "UserService.updateUser(..)", arguments);
+    }
+
+    /**
+     * Events dropped by the async appender during an iteration. The appender only keeps totals across all
+     * threads, so the first thread reports the whole difference and the others report zero.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class DropCounters {
+        public long discarded;
+        public long overflowed;
+
+        private boolean reporting;
+        private long discardedBefore;
+        private long overflowedBefore;
+
+        @Setup(org.openjdk.jmh.annotations.Level.Iteration)
+        public void start(AsyncLoggingBenchmark benchmark, ThreadParams threadParams) {
+            discarded = 0;
+            overflowed = 0;
+            reporting = benchmark.asyncAppender != null && threadParams.getThreadIndex() == 0;
+            if (reporting) {
+                discardedBefore = benchmark.asyncAppender.getDiscardedCount();
+                overflowedBefore = benchmark.asyncAppender.getOverflowCount();
+            }
+        }
+
+        @TearDown(org.openjdk.jmh.annotations.Level.Iteration)
+        public void stop(AsyncLoggingBenchmark benchmark) {
+            if (reporting) {
+                discarded = benchmark.asyncAppender.getDiscardedCount() - discardedBefore;
+                overflowed = benchmark.asyncAppender.getOverflowCount() - overflowedBefore;
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package by.onlinebanking.benchmark;
+
+import by.onlinebanking.config.StatsProperties;
+import by.onlinebanking.stats.VisitStats;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of {@link VisitStats#recordVisit} with 1 to 64 threads hitting the same route, i.e. the worst
+ * case for contention on a single counter, plus the lookup of a route that was never recorded.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VisitStatsBenchmark {
+    private static final String ROUTE = "/api/accounts/{iban}";
+
+    private VisitStats visitStats;
+
+    @Setup
+    public void setUp() {
+        visitStats = new VisitStats(new StatsProperties());
+        visitStats.recordVisit(ROUTE);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void recordVisit1Thread() {
+        visitStats.recordVisit(ROUTE);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void recordVisit4Threads() {
+        visitStats.recordVisit(ROUTE);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void recordVisit16Threads() {
+        visitStats.recordVisit(ROUTE);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public void recordVisit64Threads() {
+        visitStats.recordVisit(ROUTE);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long getVisitCountMiss() {
+        return visitStats.getVisitCount("/api/unknown");
+    }
+}
@@ -0,0 +1,28 @@
+package by.onlinebanking.controller;
+
+import by.onlinebanking.cache.UsersCacheKey;
+import jakarta.servlet.http.HttpServletResponse;
+import java.lang.reflect.Method;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.MethodParameter;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AdminUsersControllerTest {
+
+    @Test
+    void getUsers_WithoutPagingParameters_UsesPageableWarmedAtStartup() throws Exception {
+        Method getUsers = AdminUsersController.class.getMethod("getUsers",
+                String.class, List.class, Pageable.class, HttpServletResponse.class);
+
+        Pageable pageable = new PageableHandlerMethodArgumentResolver().resolveArgument(
+                new MethodParameter(getUsers, 2), null, new ServletWebRequest(new MockHttpServletRequest()), null);
+
+        assertEquals(UsersCacheKey.defaultPage(0), pageable);
+    }
+}
@@ -0,0 +1,132 @@
+package by.onlinebanking.controller;
+
+import by.onlinebanking.cache.ResourceVersions;
+import by.onlinebanking.dto.response.UserResponseDto;
+import by.onlinebanking.model.User;
+import by.onlinebanking.service.AccountService;
+import by.onlinebanking.service.UserService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import java.io.IOException;
+import java.time.LocalDate;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/** Runs against a real PostgreSQL, since versions are upserted with {@code ON CONFLICT}. */
+class UserProfileControllerTest {
+    private static final long USER_ID = 7L;
+
+    private static EmbeddedPostgres postgres;
+    private static JdbcTemplate jdbcTemplate;
+    private static TransactionTemplate transactionTemplate;
+
+    private MockMvc mockMvc;
+
+    @BeforeAll
+    static void startDatabase() throws IOException {
+        postgres = EmbeddedPostgres.start();
+        jdbcTemplate = new JdbcTemplate(postgres.getPostgresDatabase());
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(postgres.getPostgresDatabase()));
+        jdbcTemplate.execute("CREATE TABLE resource_versions ("
+                + "resource VARCHAR(64) PRIMARY KEY, "
+                + "version BIGINT NOT NULL)");
+    }
+
+    @AfterAll
+    static void stopDatabase() throws IOException {
+        postgres.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM resource_versions");
+
+        User user = new User();
+        user.setId(USER_ID);
+        user.setActive(true);
+        user.setFullName("John Doe");
+        user.setEmail("john@bank.com");
+        user.setDateOfBirth(LocalDate.of(1990, 1, 1));
+
+        UserService userService = mock(UserService.class);
+        when(userService.getUserFromAuthentication()).thenReturn(user);
+        when(userService.getUserById(USER_ID)).thenReturn(new UserResponseDto(user));
+
+        mockMvc = MockMvcBuilders.standaloneSetup(new UserProfileController(
+                userService, mock(AccountService.class), new ResourceVersions(jdbcTemplate))).build();
+    }
+
+    @Test
+    void getMyProfile_ReturnsBodyWithEtag() throws Exception {
+        mockMvc.perform(get("/api/user/profile"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.email").value("john@bank.com"));
+    }
+
+    @Test
+    void getMyProfile_MatchingIfNoneMatch_ReturnsNotModified() throws Exception {
+        String etag = fetchEtag();
+
+        mockMvc.perform(get("/api/user/profile").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void getMyProfile_AfterCommittedWriteOnAnotherInstance_ReturnsNewEtag() throws Exception {
+        String etag = fetchEtag();
+        ResourceVersions otherInstance = new ResourceVersions(jdbcTemplate);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            otherInstance.bumpUser(USER_ID);
+            // Not committed yet: readers still see the old data, so the old tag stays valid
+            assertNotModified(etag);
+        });
+
+        String newEtag = mockMvc.perform(get("/api/user/profile").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, newEtag);
+    }
+
+    @Test
+    void getMyProfile_AfterRolledBackWrite_StillNotModified() throws Exception {
+        String etag = fetchEtag();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            new ResourceVersions(jdbcTemplate).bumpUser(USER_ID);
+            status.setRollbackOnly();
+        });
+
+        assertNotModified(etag);
+    }
+
+    private String fetchEtag() throws Exception {
+        return mockMvc.perform(get("/api/user/profile"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private void assertNotModified(String etag) {
+        try {
+            mockMvc.perform(get("/api/user/profile").header(HttpHeaders.IF_NONE_MATCH, etag))
+                    .andExpect(status().isNotModified());
+        } catch (Exception e) {
+            throw new AssertionError(e);
+        }
+    }
+}
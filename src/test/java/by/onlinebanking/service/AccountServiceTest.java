@@ -1,5 +1,6 @@
 package by.onlinebanking.service;
 
+import by.onlinebanking.cache.ResourceVersions;
 import by.onlinebanking.dto.account.AccountDto;
 import by.onlinebanking.dto.transaction.SingleAccountTransactionDto;
 import by.onlinebanking.dto.response.OperationResponseDto;
@@ -13,6 +14,7 @@ import by.onlinebanking.model.enums.Currency;
 import by.onlinebanking.model.enums.TransactionType;
 import by.onlinebanking.repository.AccountRepository;
 import by.onlinebanking.repository.UserRepository;
+import by.onlinebanking.stats.HeavyHitterTracker;
 import by.onlinebanking.validation.TransactionValidator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -40,6 +42,12 @@ class AccountServiceTest {
     @Mock
     private TransactionValidator transactionValidator;
 
+    @Mock
+    private ResourceVersions resourceVersions;
+
+    @Mock
+    private HeavyHitterTracker heavyHitterTracker;
+
     @InjectMocks
     private AccountService accountService;
 
@@ -276,6 +284,8 @@ class AccountServiceTest {
         assertEquals("Transfer 500 USD from TESTIBAN123 to TOIBAN123", response.getMessage());
         assertEquals(HttpStatus.OK, response.getStatus());
         verify(accountRepository, times(2)).save(any(Account.class));
+        verify(heavyHitterTracker).record(HeavyHitterTracker.Dimension.IBAN, "TESTIBAN123");
+        verify(heavyHitterTracker).record(HeavyHitterTracker.Dimension.IBAN, "TOIBAN123");
     }
 
     @Test
@@ -0,0 +1,126 @@
+package by.onlinebanking.service;
+
+import by.onlinebanking.config.LoggingProperties;
+import by.onlinebanking.dto.user.CreateUserDto;
+import by.onlinebanking.exception.ValidationException;
+import by.onlinebanking.logging.aspect.ArgumentRenderer;
+import by.onlinebanking.logging.aspect.ExceptionLogThrottle;
+import by.onlinebanking.logging.aspect.ExceptionLoggingAspect;
+import by.onlinebanking.security.service.JwtService;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ArgumentRendererTest {
+    private ArgumentRenderer argumentRenderer;
+
+    @BeforeEach
+    void setUp() {
+        LoggingProperties properties = new LoggingProperties();
+        properties.getRendering().setMaxElements(3);
+        properties.getRendering().setMaxStringLength(10);
+        argumentRenderer = new ArgumentRenderer(properties);
+    }
+
+    @Test
+    void render_RedactsSensitiveFields() {
+        CreateUserDto dto = new CreateUserDto();
+        dto.setEmail("a@b.cc");
+        dto.setPassword("secret123");
+
+        String rendered = argumentRenderer.render(dto);
+
+        assertTrue(rendered.startsWith("CreateUserDto{"));
+        assertTrue(rendered.contains("email=a@b.cc"));
+        assertTrue(rendered.contains("password=***"));
+        assertFalse(rendered.contains("secret123"));
+    }
+
+    @Test
+    void renderArguments_RedactsSensitiveParameters() throws Exception {
+        Method changePassword = UserService.class.getMethod("changePassword", String.class, String.class, String.class);
+        Method validateToken = JwtService.class.getMethod("validateToken", String.class);
+
+        assertEquals("[***, ***, ***]",
+                argumentRenderer.renderArguments(changePassword, new Object[]{"old-secret", "new", "new"}));
+        assertEquals("[***]", argumentRenderer.renderArguments(validateToken, new Object[]{"eyJhbGciOi"}));
+    }
+
+    @Test
+    void renderResult_SensitiveMethod_Redacted() throws Exception {
+        Method generateToken = JwtService.class.getMethod("generateToken", UserDetails.class);
+        Method getUserById = UserService.class.getMethod("getUserById", Long.class);
+
+        assertEquals("***", argumentRenderer.renderResult(generateToken, "eyJhbGciOi"));
+        assertEquals("7", argumentRenderer.renderResult(getUserById, 7L));
+    }
+
+    @Test
+    void exceptionLoggingAspect_WrongCurrentPassword_DoesNotLogPasswords() throws Exception {
+        LoggingProperties properties = new LoggingProperties();
+        ExceptionLoggingAspect aspect = new ExceptionLoggingAspect(
+                new ArgumentRenderer(properties), new ExceptionLogThrottle(properties));
+        MethodSignature signature = mock(MethodSignature.class);
+        when(signature.getMethod()).thenReturn(
+                UserService.class.getMethod("changePassword", String.class, String.class, String.class));
+        when(signature.toShortString()).thenReturn("UserService.changePassword(..)");
+        JoinPoint joinPoint = mock(JoinPoint.class);
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(joinPoint.getArgs()).thenReturn(new Object[]{"wrong-secret", "new-secret", "new-secret"});
+
+        Logger logger = (Logger) LoggerFactory.getLogger(ExceptionLoggingAspect.class);
+        ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.start();
+        logger.addAppender(appender);
+        try {
+            aspect.logException(joinPoint, new ValidationException("Current password is incorrect"));
+        } finally {
+            logger.detachAppender(appender);
+        }
+
+        assertEquals(1, appender.list.size());
+        String message = appender.list.get(0).getFormattedMessage();
+        assertTrue(message.contains("Args: [***, ***, ***]"), message);
+        assertFalse(message.contains("secret"), message);
+    }
+
+    @Test
+    void render_TruncatesCollectionsAndStrings() {
+        List<Integer> numbers = IntStream.range(0, 1000).boxed().toList();
+
+        assertEquals("[0, 1, 2, ...(997 more)]", argumentRenderer.render(numbers));
+        assertEquals("abcdefghij...(26 chars)", argumentRenderer.render("abcdefghijklmnopqrstuvwxyz"));
+        assertEquals("[x, null]", argumentRenderer.render(new Object[]{"x", null}));
+    }
+
+    @Test
+    void render_LimitsNestingDepth() {
+        Object nested = Collections.singletonList(List.of(List.of(List.of(List.of(1)))));
+
+        String rendered = argumentRenderer.render(nested);
+
+        assertTrue(rendered.startsWith("[[[["));
+        assertTrue(rendered.endsWith("{...}]]]]"));
+    }
+
+    @Test
+    void lazy_RendersOnlyOnToString() {
+        assertEquals("[1, 2]", argumentRenderer.lazy(List.of(1, 2)).toString());
+    }
+}
@@ -0,0 +1,110 @@
+package by.onlinebanking.service;
+
+import by.onlinebanking.config.LoggingProperties;
+import by.onlinebanking.exception.NotFoundException;
+import by.onlinebanking.logging.aspect.ExceptionLogThrottle;
+import by.onlinebanking.logging.aspect.ExceptionLogThrottle.Decision;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExceptionLogThrottleTest {
+    private ExceptionLogThrottle throttle;
+
+    @BeforeEach
+    void setUp() {
+        LoggingProperties properties = new LoggingProperties();
+        properties.getExceptions().setMaxLoggedPerWindow(3);
+        throttle = new ExceptionLogThrottle(properties);
+    }
+
+    @Test
+    void record_SameExceptionAcrossLayers_LoggedOnce() {
+        NotFoundException ex = new NotFoundException("User not found");
+
+        assertEquals(Decision.LOG_WITH_STACK_TRACE, throttle.record(ex));
+        assertEquals(Decision.SKIP, throttle.record(ex));
+        assertEquals(Decision.SKIP, throttle.record(ex));
+    }
+
+    @Test
+    void record_RepeatedAtSameSite_ThrottledAndSummarized() {
+        List<Decision> decisions = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            decisions.add(throttle.record(newNotFound()));
+        }
+
+        assertEquals(Decision.LOG_WITH_STACK_TRACE, decisions.get(0));
+        assertEquals(List.of(Decision.LOG, Decision.LOG), decisions.subList(1, 3));
+        assertTrue(decisions.subList(3, 10).stream().allMatch(decision -> decision == Decision.SUPPRESS));
+
+        Map<String, Long> suppressed = throttle.flush();
+        assertEquals(1, suppressed.size());
+        String site = suppressed.keySet().iterator().next();
+        assertTrue(site.startsWith(NotFoundException.class.getName() + " at "));
+        assertEquals(7L, suppressed.get(site));
+    }
+
+    @Test
+    void flush_StartsNewWindow() {
+        for (int i = 0; i < 5; i++) {
+            throttle.record(newNotFound());
+        }
+        throttle.flush();
+
+        assertEquals(Decision.LOG_WITH_STACK_TRACE, throttle.record(newNotFound()));
+        assertTrue(throttle.flush().isEmpty());
+    }
+
+    @Test
+    void flush_ConcurrentWithRecord_CountsEveryOccurrence() throws Exception {
+        LoggingProperties properties = new LoggingProperties();
+        properties.getExceptions().setMaxLoggedPerWindow(0);
+        ExceptionLogThrottle unlimited = new ExceptionLogThrottle(properties);
+        int threads = 4;
+        int perThread = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch done = new CountDownLatch(threads);
+        long summarized = 0;
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        unlimited.record(newNotFound());
+                    }
+                    done.countDown();
+                }));
+            }
+            while (!done.await(1, TimeUnit.MILLISECONDS)) {
+                summarized += sum(unlimited.flush());
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        summarized += sum(unlimited.flush());
+
+        assertEquals((long) threads * perThread, summarized);
+    }
+
+    private static long sum(Map<String, Long> suppressed) {
+        return suppressed.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    private static NotFoundException newNotFound() {
+        return new NotFoundException("Account not found");
+    }
+}
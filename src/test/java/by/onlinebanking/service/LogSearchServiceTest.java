@@ -0,0 +1,119 @@
+package by.onlinebanking.service;
+
+import by.onlinebanking.dto.log.LogEntryDto;
+import by.onlinebanking.dto.log.LogSearchResponseDto;
+import by.onlinebanking.exception.ValidationException;
+import by.onlinebanking.logging.service.LogSearchService;
+import by.onlinebanking.logging.service.LogsService;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LogSearchServiceTest {
+    private static final LocalDateTime FROM = LocalDateTime.of(2023, 1, 1, 10, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2023, 1, 1, 12, 0);
+
+    @TempDir
+    Path tempDir;
+
+    private LogSearchService logSearchService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Files.write(tempDir.resolve("application.2023-01-01.1.log"), List.of(
+                "2023-01-01 09:59:59 [main] INFO  b.o.s.UserService - Too early",
+                "2023-01-01 10:00:01 [main] ERROR b.o.s.UserService - First failure",
+                "java.lang.IllegalStateException: boom",
+                "\tat by.onlinebanking.service.UserService.createUser(UserService.java:42)",
+                "2023-01-01 10:30:00 [main] INFO  b.o.s.AccountService - Account opened"
+        ));
+        // Rolled files may be gzip-compressed; the cursor then resumes within the decompressed content
+        try (Writer writer = new OutputStreamWriter(new GZIPOutputStream(Files.newOutputStream(
+                tempDir.resolve("application.2023-01-01.2.log.gz"))), StandardCharsets.UTF_8)) {
+            writer.write(String.join("\n",
+                    "2023-01-01 11:00:00 [http-1] WARN  b.o.s.AccountService - Slow transfer",
+                    "2023-01-01 11:30:00 [http-2] ERROR b.o.s.AccountService [req-42] - Transfer failed",
+                    "2023-01-01 12:00:01 [http-3] ERROR b.o.s.AccountService - Too late\n"));
+        }
+
+        LogsService logsService = new LogsService();
+        Field logFilePath = LogsService.class.getDeclaredField("logFilePath");
+        logFilePath.setAccessible(true);
+        logFilePath.set(logsService, tempDir.resolve("application.current.log").toString());
+        logSearchService = new LogSearchService(logsService, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logSearchService.shutdown();
+    }
+
+    @Test
+    void search_FiltersByLevelAndKeepsContinuationLines() {
+        LogSearchResponseDto response = logSearchService.search(FROM, TO, "warn", null, null, null, null, null);
+
+        assertEquals(List.of("First failure\njava.lang.IllegalStateException: boom\n"
+                        + "\tat by.onlinebanking.service.UserService.createUser(UserService.java:42)",
+                        "Slow transfer", "Transfer failed"),
+                response.getEntries().stream().map(LogEntryDto::getMessage).toList());
+        assertNull(response.getNextCursor());
+    }
+
+    @Test
+    void search_PagesWithCursorWithoutRepeatingEntries() {
+        LogSearchResponseDto first = logSearchService.search(FROM, TO, null, "AccountService", null, null, 2, null);
+        assertEquals(List.of("Account opened", "Slow transfer"),
+                first.getEntries().stream().map(LogEntryDto::getMessage).toList());
+        assertNotNull(first.getNextCursor());
+
+        LogSearchResponseDto second = logSearchService.search(
+                FROM, TO, null, "AccountService", null, null, 2, first.getNextCursor());
+        assertEquals(List.of("Transfer failed"),
+                second.getEntries().stream().map(LogEntryDto::getMessage).toList());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void search_ContainsFilter() {
+        LogSearchResponseDto response = logSearchService.search(FROM, TO, null, null, null, "transfer", null, null);
+
+        assertEquals(List.of("Slow transfer"),
+                response.getEntries().stream().map(LogEntryDto::getMessage).toList());
+    }
+
+    @Test
+    void search_FiltersByRequestId() {
+        LogSearchResponseDto response = logSearchService.search(FROM, TO, null, null, "req-42", null, null, null);
+
+        assertEquals(1, response.getEntries().size());
+        assertEquals("Transfer failed", response.getEntries().get(0).getMessage());
+        assertEquals("req-42", response.getEntries().get(0).getRequestId());
+    }
+
+    @Test
+    void search_InvalidCursor_ThrowsValidationException() {
+        assertThrows(ValidationException.class,
+                () -> logSearchService.search(FROM, TO, null, null, null, null, null, "%%%"));
+    }
+
+    @Test
+    void search_ToBeforeFrom_ThrowsValidationException() {
+        assertThrows(ValidationException.class,
+                () -> logSearchService.search(TO, FROM, null, null, null, null, null, null));
+    }
+}
@@ -4,12 +4,18 @@ import by.onlinebanking.exception.ValidationException;
 import by.onlinebanking.logging.service.LogsService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
 import java.time.LocalDate;
 import java.util.*;
 import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -38,6 +44,100 @@ class LogsServiceTest {
         assertTrue(result.get(0).contains("Valid log"));
     }
 
+    @Test
+    void getLogsForDate_SeeksToIndexedRegionAndWritesSidecar() throws Exception {
+        LogsService service = new LogsService();
+        Path logFile = tempDir.resolve("application.2023-01-01.1.log");
+        Files.write(logFile, List.of(
+                "2022-12-31 23:59:59 - Previous day",
+                "2023-01-01 00:00:01 - First",
+                "java.lang.IllegalStateException: trace line",
+                "2023-01-01 13:30:00 - Second",
+                "2023-01-02 00:00:00 - Next day"
+        ));
+        setPrivateField(service, "logFilePath", tempDir.resolve("application.current.log").toString());
+
+        List<String> first = service.getLogsForDate(LocalDate.of(2023, 1, 1));
+        List<String> second = service.getLogsForDate(LocalDate.of(2023, 1, 1));
+
+        assertEquals(List.of("2023-01-01 00:00:01 - First", "2023-01-01 13:30:00 - Second"), first);
+        assertEquals(first, second);
+        assertTrue(Files.exists(tempDir.resolve(".application.2023-01-01.1.log.idx")));
+        assertTrue(service.getLogsForDate(LocalDate.of(2023, 1, 3)).isEmpty());
+    }
+
+    @Test
+    void getLogsForDate_ReadsCompressedRolledFiles() throws Exception {
+        LogsService service = new LogsService();
+        try (Writer writer = new OutputStreamWriter(new GZIPOutputStream(
+                Files.newOutputStream(tempDir.resolve("application.2023-01-01.1.log.gz"))), StandardCharsets.UTF_8)) {
+            writer.write("2023-01-01 08:00:00 - Compressed\n2023-01-02 00:00:00 - Other day\n");
+        }
+        Files.write(tempDir.resolve("application.2023-01-01.2.log"), List.of("2023-01-01 09:00:00 - Plain"));
+        setPrivateField(service, "logFilePath", tempDir.resolve("application.current.log").toString());
+
+        List<String> result = service.getLogsForDate(LocalDate.of(2023, 1, 1));
+
+        assertEquals(List.of("2023-01-01 08:00:00 - Compressed", "2023-01-01 09:00:00 - Plain"), result);
+    }
+
+    @Test
+    void createLogFileAsync_SameDate_ReusesTask() throws Exception {
+        LogsService service = new LogsService();
+        Files.write(tempDir.resolve("application.2023-01-01.1.log"), List.of("2023-01-01 10:00:00 - Valid log"));
+        setPrivateField(service, "logFilePath", tempDir.resolve("application.current.log").toString());
+        service.init();
+
+        try {
+            String firstTaskId = service.createLogFileAsync(LocalDate.of(2023, 1, 1));
+            String secondTaskId = service.createLogFileAsync(LocalDate.of(2023, 1, 1));
+            String otherTaskId = service.createLogFileAsync(LocalDate.of(2023, 1, 2));
+
+            assertEquals(firstTaskId, secondTaskId);
+            assertNotEquals(firstTaskId, otherTaskId);
+        } finally {
+            service.cleanup();
+        }
+    }
+
+    @Test
+    void cleanup_RunningExport_DeletesPartialFile() throws Exception {
+        LogsService service = new LogsService();
+        Path exportDir = Files.createDirectories(tempDir.resolve("exports"));
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 200_000; i++) {
+            lines.add("2023-01-01 10:00:00 - Line " + i);
+        }
+        Files.write(tempDir.resolve("application.2023-01-01.1.log"), lines);
+        setPrivateField(service, "logFilePath", tempDir.resolve("application.current.log").toString());
+        setPrivateField(service, "exportDir", exportDir.toString());
+        service.init();
+
+        service.createLogFileAsync(LocalDate.of(2023, 1, 1));
+        service.cleanup();
+
+        try (Stream<Path> files = Files.list(exportDir)) {
+            assertEquals(List.of(), files.toList());
+        }
+    }
+
+    @Test
+    void getLogsForDate_InterruptedWhileIndexing_AbortsWithoutFullScan() throws Exception {
+        LogsService service = new LogsService();
+        Files.write(tempDir.resolve("application.2023-01-01.1.log"), List.of("2023-01-01 10:00:00 - Line"));
+        setPrivateField(service, "logFilePath", tempDir.resolve("application.current.log").toString());
+
+        Thread.currentThread().interrupt();
+        try {
+            UncheckedIOException exception = assertThrows(UncheckedIOException.class,
+                    () -> service.getLogsForDate(LocalDate.of(2023, 1, 1)));
+            assertInstanceOf(ClosedByInterruptException.class, exception.getCause());
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
     @Test
     void getLogsForDate_WhenIOException_ReturnsEmptyList() throws Exception {
         LogsService service = new LogsService();
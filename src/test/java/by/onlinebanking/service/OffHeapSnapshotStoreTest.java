@@ -0,0 +1,142 @@
+package by.onlinebanking.service;
+
+import by.onlinebanking.cache.OffHeapSnapshotStore;
+import by.onlinebanking.cache.UsersCacheKey;
+import by.onlinebanking.cache.UsersSnapshotCache;
+import by.onlinebanking.config.CacheProperties;
+import by.onlinebanking.dto.response.UserResponseDto;
+import by.onlinebanking.model.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OffHeapSnapshotStoreTest {
+
+    private static final long TTL = TimeUnit.MINUTES.toNanos(5);
+
+    @Test
+    void put_StoresBytesInDirectBuffer() {
+        OffHeapSnapshotStore<String> store = new OffHeapSnapshotStore<>(1024, TTL);
+
+        store.put("page-0", bytes("{\"content\":[]}"));
+        ByteBuffer snapshot = store.get("page-0");
+
+        assertNotNull(snapshot);
+        assertTrue(snapshot.isDirect());
+        assertTrue(snapshot.isReadOnly());
+        assertEquals("{\"content\":[]}", read(snapshot));
+        assertEquals("{\"content\":[]}", read(store.get("page-0")));
+    }
+
+    @Test
+    void put_WhenCapacityExceeded_EvictsLeastRecentlyUsed() {
+        OffHeapSnapshotStore<String> store = new OffHeapSnapshotStore<>(10, TTL);
+
+        store.put("a", bytes("1234"));
+        store.put("b", bytes("5678"));
+        store.get("a");
+        store.put("c", bytes("90ab"));
+
+        assertNotNull(store.get("a"));
+        assertNull(store.get("b"));
+        assertNotNull(store.get("c"));
+        assertEquals(8, store.getUsedBytes());
+    }
+
+    @Test
+    void put_EntryLargerThanCapacity_ReturnedButNotStored() {
+        OffHeapSnapshotStore<String> store = new OffHeapSnapshotStore<>(4, TTL);
+
+        ByteBuffer snapshot = store.put("big", bytes("123456"));
+
+        assertEquals("123456", read(snapshot));
+        assertFalse(snapshot.isDirect());
+        assertNull(store.get("big"));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void put_LoadedBeforeClear_ReturnedButNotStored() {
+        OffHeapSnapshotStore<String> store = new OffHeapSnapshotStore<>(1024, TTL);
+        long loadGeneration = store.generation();
+
+        store.clear();
+        ByteBuffer snapshot = store.put("page-0", bytes("[]"), loadGeneration);
+
+        assertEquals("[]", read(snapshot));
+        assertFalse(snapshot.isDirect());
+        assertNull(store.get("page-0"));
+    }
+
+    @Test
+    void get_ExpiredEntry_ReturnsNull() {
+        OffHeapSnapshotStore<String> store = new OffHeapSnapshotStore<>(1024, 0);
+
+        store.put("page-0", bytes("[]"));
+
+        assertNull(store.get("page-0"));
+        assertEquals(0, store.getUsedBytes());
+    }
+
+    @Test
+    void clear_RemovesAllEntries() {
+        OffHeapSnapshotStore<String> store = new OffHeapSnapshotStore<>(1024, TTL);
+        store.put("a", bytes("1"));
+        store.put("b", bytes("2"));
+
+        store.clear();
+
+        assertEquals(0, store.size());
+        assertEquals(0, store.getUsedBytes());
+    }
+
+    @Test
+    void usersSnapshotCache_ClearDuringLoad_DoesNotStoreStalePage() {
+        UserService userService = mock(UserService.class);
+        @SuppressWarnings("unchecked")
+        ObjectProvider<UserService> provider = mock(ObjectProvider.class);
+        when(provider.getObject()).thenReturn(userService);
+        UsersSnapshotCache cache = new UsersSnapshotCache(new CacheProperties(), provider,
+                new ObjectMapper().findAndRegisterModules());
+        UsersCacheKey key = new UsersCacheKey(null, null, PageRequest.of(0, 20));
+
+        User user = new User();
+        user.setId(1L);
+        user.setActive(true);
+        user.setEmail("old@bank.com");
+        // A user write clears the cache while the page read before it is still being serialized
+        when(userService.findUsers(any(), any(), any())).thenAnswer(invocation -> {
+            cache.clear();
+            return new PageImpl<>(List.of(new UserResponseDto(user)), key.pageable(), 1);
+        });
+
+        assertTrue(read(cache.getOrLoad(key)).contains("old@bank.com"));
+        cache.getOrLoad(key);
+
+        verify(userService, times(2)).findUsers(any(), any(), any());
+    }
+
+    private byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private String read(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
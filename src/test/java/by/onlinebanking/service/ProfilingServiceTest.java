@@ -0,0 +1,86 @@
+package by.onlinebanking.service;
+
+import by.onlinebanking.config.ProfilingProperties;
+import by.onlinebanking.exception.TooManyRequestsException;
+import by.onlinebanking.exception.ValidationException;
+import by.onlinebanking.profiling.event.TransactionEvent;
+import by.onlinebanking.profiling.service.ProfilingService;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProfilingServiceTest {
+    private ProfilingService profilingService;
+
+    @BeforeEach
+    void setUp() {
+        profilingService = new ProfilingService(new ProfilingProperties());
+        profilingService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        profilingService.cleanup();
+    }
+
+    @Test
+    void stopRecording_WritesFileWithCustomEvents() throws Exception {
+        String taskId = profilingService.startRecording("default", Duration.ofMinutes(1));
+        assertEquals("RECORDING", profilingService.getTaskStatus(taskId).get("status"));
+
+        TransactionEvent event = new TransactionEvent();
+        event.type = "TRANSFER";
+        event.outcome = "success";
+        event.commit();
+        profilingService.stopRecording(taskId);
+        Map<String, Object> status = awaitDone(taskId);
+
+        assertEquals("COMPLETED", status.get("status"));
+        ProfilingService.RecordingResult result = profilingService.getRecording(taskId);
+        List<RecordedEvent> events = RecordingFile.readAllEvents(result.getFile());
+        assertTrue(events.stream().anyMatch(recorded ->
+                recorded.getEventType().getName().equals("by.onlinebanking.Transaction")
+                        && "TRANSFER".equals(recorded.getString("type"))));
+    }
+
+    @Test
+    void startRecording_OnlyOneAtATime() throws Exception {
+        String taskId = profilingService.startRecording("default", Duration.ofMinutes(1));
+
+        assertThrows(TooManyRequestsException.class,
+                () -> profilingService.startRecording("default", Duration.ofMinutes(1)));
+
+        profilingService.stopRecording(taskId);
+        awaitDone(taskId);
+        String next = profilingService.startRecording("default", Duration.ofMillis(50));
+        assertEquals("COMPLETED", awaitDone(next).get("status"));
+    }
+
+    @Test
+    void startRecording_RejectsUnknownProfileAndLongDurations() {
+        assertThrows(ValidationException.class,
+                () -> profilingService.startRecording("unknown", Duration.ofSeconds(10)));
+        assertThrows(ValidationException.class,
+                () -> profilingService.startRecording("default", Duration.ofHours(1)));
+    }
+
+    private Map<String, Object> awaitDone(String taskId) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            Map<String, Object> status = profilingService.getTaskStatus(taskId);
+            if (!"RECORDING".equals(status.get("status")) && !"STOPPING".equals(status.get("status"))) {
+                return status;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Recording did not finish");
+    }
+}
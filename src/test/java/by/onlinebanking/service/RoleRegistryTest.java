@@ -0,0 +1,111 @@
+package by.onlinebanking.service;
+
+import by.onlinebanking.cache.RoleRegistry;
+import by.onlinebanking.config.CacheProperties;
+import by.onlinebanking.model.Role;
+import by.onlinebanking.repository.RoleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RoleRegistryTest {
+
+    @Mock
+    private RoleRepository roleRepository;
+
+    private final CacheProperties cacheProperties = new CacheProperties();
+    private RoleRegistry roleRegistry;
+
+    @BeforeEach
+    void setUp() {
+        roleRegistry = new RoleRegistry(roleRepository, cacheProperties);
+    }
+
+    @Test
+    void findAllByName_KnownRoles_LoadsEntitiesWithOneQuery() {
+        Role user = role(1L, "ROLE_USER");
+        Role admin = role(2L, "ROLE_ADMIN");
+        when(roleRepository.findAll()).thenReturn(List.of(user, admin));
+        when(roleRepository.findAllById(anyIterable())).thenReturn(List.of(user, admin));
+        roleRegistry.reload();
+
+        Map<String, Role> result = roleRegistry.findAllByName(Set.of("ROLE_USER", "ROLE_ADMIN"));
+
+        assertEquals(Map.of("ROLE_USER", user, "ROLE_ADMIN", admin), result);
+        verify(roleRepository, times(1)).findAll();
+        verify(roleRepository, times(1)).findAllById(anyIterable());
+        verify(roleRepository, never()).getReferenceById(any());
+        verify(roleRepository, never()).findByName(anyString());
+    }
+
+    @Test
+    void findAllByName_UnknownRole_ReloadsOnceAndOmitsIt() {
+        when(roleRepository.findAll()).thenReturn(List.of());
+        roleRegistry.reload();
+
+        Map<String, Role> result = roleRegistry.findAllByName(Set.of("ROLE_MISSING"));
+
+        assertTrue(result.isEmpty());
+        verify(roleRepository, times(2)).findAll();
+    }
+
+    @Test
+    void findAllByName_RoleCreatedAfterLoad_FoundAfterReload() {
+        Role role = role(2L, "ROLE_AUDITOR");
+        when(roleRepository.findAll()).thenReturn(List.of(), List.of(role));
+        when(roleRepository.findAllById(List.of(2L))).thenReturn(List.of(role));
+        roleRegistry.reload();
+
+        Map<String, Role> result = roleRegistry.findAllByName(Set.of("ROLE_AUDITOR"));
+
+        assertSame(role, result.get("ROLE_AUDITOR"));
+        assertEquals(2L, roleRegistry.getRoleIdsByName().get("ROLE_AUDITOR"));
+    }
+
+    @Test
+    void findAllByName_RoleRenamedElsewhere_ReloadsInsteadOfReturningStaleRow() {
+        Role renamed = role(3L, "ROLE_AUDITOR");
+        Role replacement = role(4L, "ROLE_SUPPORT");
+        when(roleRepository.findAll()).thenReturn(List.of(role(3L, "ROLE_SUPPORT")), List.of(renamed, replacement));
+        when(roleRepository.findAllById(List.of(3L))).thenReturn(List.of(renamed));
+        when(roleRepository.findAllById(List.of(4L))).thenReturn(List.of(replacement));
+        roleRegistry.reload();
+
+        Map<String, Role> result = roleRegistry.findAllByName(Set.of("ROLE_SUPPORT"));
+
+        assertEquals(Map.of("ROLE_SUPPORT", replacement), result);
+    }
+
+    @Test
+    void findAllByName_SnapshotOlderThanTtl_Reloads() {
+        cacheProperties.getRoles().setTtl(Duration.ZERO);
+        roleRegistry = new RoleRegistry(roleRepository, cacheProperties);
+        Role role = role(1L, "ROLE_USER");
+        when(roleRepository.findAll()).thenReturn(List.of(role));
+        when(roleRepository.findAllById(List.of(1L))).thenReturn(List.of(role));
+        roleRegistry.reload();
+
+        roleRegistry.findAllByName(Set.of("ROLE_USER"));
+
+        verify(roleRepository, times(2)).findAll();
+    }
+
+    private Role role(Long id, String name) {
+        Role role = new Role();
+        role.setId(id);
+        role.setName(name);
+        return role;
+    }
+}
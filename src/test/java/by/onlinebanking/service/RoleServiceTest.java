@@ -1,5 +1,7 @@
 package by.onlinebanking.service;
 
+import by.onlinebanking.cache.ResourceVersions;
+import by.onlinebanking.cache.RoleRegistry;
 import by.onlinebanking.dto.role.RoleDto;
 import by.onlinebanking.exception.BusinessException;
 import by.onlinebanking.exception.NotFoundException;
@@ -27,6 +29,12 @@ class RoleServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private RoleRegistry roleRegistry;
+
+    @Mock
+    private ResourceVersions resourceVersions;
+
     @InjectMocks
     private RoleService roleService;
 
@@ -46,6 +54,7 @@ class RoleServiceTest {
         assertEquals(roleName, result.getName());
         verify(roleRepository).existsByName(roleName);
         verify(roleRepository).save(any(Role.class));
+        verify(roleRegistry).reload();
     }
 
     @Test
@@ -60,6 +69,7 @@ class RoleServiceTest {
         assertEquals(roleName, exception.getDetails().get("roleName"));
         verify(roleRepository).existsByName(roleName);
         verify(roleRepository, never()).save(any(Role.class));
+        verify(roleRegistry, never()).reload();
     }
 
     @Test
@@ -110,6 +120,7 @@ class RoleServiceTest {
         verify(roleRepository).findById(roleId);
         verify(roleRepository).existsByNameAndIdNot(newRoleName, roleId);
         verify(roleRepository).save(existingRole);
+        verify(roleRegistry).reload();
     }
 
     @Test
@@ -170,6 +181,7 @@ class RoleServiceTest {
         verify(roleRepository).findById(roleId);
         verify(userRepository).existsByRolesId(roleId);
         verify(roleRepository).delete(role);
+        verify(roleRegistry).reload();
     }
 
     @Test
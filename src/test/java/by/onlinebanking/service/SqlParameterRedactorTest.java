@@ -0,0 +1,53 @@
+package by.onlinebanking.service;
+
+import by.onlinebanking.stats.sql.SqlParameterRedactor;
+import java.lang.reflect.Method;
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SqlParameterRedactorTest {
+    private final SqlParameterRedactor redactor = new SqlParameterRedactor(List.of("PASSWORD"));
+
+    @Test
+    void render_InsertRedactsSensitiveColumns() throws Exception {
+        String sql = "insert into users (active,email,full_name,password) values (?,?,lower(?),?)";
+
+        String rendered = redactor.render(sql, parameters(true, "a@bank.com", "Ann", "$2a$10$hash"));
+
+        assertEquals("[true, 'a@bank.com', 'Ann', ***]", rendered);
+    }
+
+    @Test
+    void render_MatchesComparisonsAndInLists() throws Exception {
+        String sql = "update users u1_0 set email=?,password=? where u1_0.id in (?,?) and u1_0.email like ?";
+
+        String rendered = redactor.render(sql, parameters("b@bank.com", "secret", 1L, null, "%bank%"));
+
+        assertEquals("['b@bank.com', ***, 1, null, '%bank%']", rendered);
+    }
+
+    @Test
+    void render_RedactsPlaceholdersWithoutColumn() throws Exception {
+        String rendered = redactor.render("select ? from dual", parameters("value"));
+
+        assertEquals("[***]", rendered);
+    }
+
+    private static List<ParameterSetOperation> parameters(Object... values) throws NoSuchMethodException {
+        Method setObject = PreparedStatement.class.getMethod("setObject", int.class, Object.class);
+        Method setNull = PreparedStatement.class.getMethod("setNull", int.class, int.class);
+        List<ParameterSetOperation> operations = new ArrayList<>();
+        for (int i = 0; i < values.length; i++) {
+            operations.add(values[i] == null
+                    ? new ParameterSetOperation(setNull, new Object[] {i + 1, Types.BIGINT})
+                    : new ParameterSetOperation(setObject, new Object[] {i + 1, values[i]}));
+        }
+        return operations;
+    }
+}
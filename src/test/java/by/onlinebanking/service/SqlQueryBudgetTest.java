@@ -0,0 +1,177 @@
+package by.onlinebanking.service;
+
+import by.onlinebanking.cache.ResourceVersions;
+import by.onlinebanking.cache.RoleRegistry;
+import by.onlinebanking.config.CacheProperties;
+import by.onlinebanking.config.StatsProperties;
+import by.onlinebanking.dto.role.RoleDto;
+import by.onlinebanking.dto.response.UserResponseDto;
+import by.onlinebanking.dto.transaction.TransferTransactionDto;
+import by.onlinebanking.model.Account;
+import by.onlinebanking.model.Role;
+import by.onlinebanking.model.User;
+import by.onlinebanking.model.enums.Currency;
+import by.onlinebanking.model.enums.TransactionType;
+import by.onlinebanking.repository.AccountRepository;
+import by.onlinebanking.repository.RoleRepository;
+import by.onlinebanking.repository.UserRepository;
+import by.onlinebanking.stats.HeavyHitterTracker;
+import by.onlinebanking.stats.sql.SqlStats;
+import by.onlinebanking.stats.sql.SqlStatsDataSourcePostProcessor;
+import by.onlinebanking.validation.RolesValidator;
+import by.onlinebanking.validation.TransactionValidator;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Statement budgets for hot endpoints, so N+1 regressions fail here instead of under load. Paging over a
+ * collection fetch fails as well, instead of silently loading every matching row.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.query.fail_on_pagination_over_collection_fetch=true")
+@Import(SqlStatsDataSourcePostProcessor.class)
+class SqlQueryBudgetTest {
+    private static final int USERS = 5;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    private UserService userService;
+    private TransactionService transactionService;
+
+    @BeforeEach
+    void setUp() {
+        userService = new UserService(userRepository, mock(RolesValidator.class), mock(RoleRepository.class),
+                mock(PasswordEncoder.class), mock(ResourceVersions.class));
+        transactionService = new TransactionService(accountRepository, new TransactionValidator(accountRepository),
+                mock(ResourceVersions.class), new HeavyHitterTracker(new StatsProperties()));
+
+        Role role = new Role();
+        role.setName("USER");
+        entityManager.persist(role);
+        for (int i = 0; i < USERS; i++) {
+            User user = new User();
+            user.setFullName("User " + i);
+            user.setEmail("user" + i + "@bank.com");
+            user.setPassword("secret");
+            user.getRoles().add(role);
+            entityManager.persist(user);
+            for (int j = 0; j < 2; j++) {
+                Account account = new Account();
+                account.setIban("BY" + i + j);
+                account.setBalance(BigDecimal.valueOf(100));
+                account.setCurrency(Currency.USD);
+                account.setUser(user);
+                entityManager.persist(account);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void getUsers_LoadsRolesAndAccountsWithoutPerUserQueries() {
+        SqlStats stats = measure(() -> userService.findUsers(null, null, PageRequest.of(0, 3)));
+
+        // One paged select, one count for the page total, one select fetching roles and accounts of the page
+        assertTrue(stats.getStatements() <= 3, "statements: " + stats.getStatements());
+    }
+
+    @Test
+    void getUsers_SecondPageStaysWithinBudget() {
+        AtomicReference<Page<UserResponseDto>> page = new AtomicReference<>();
+        SqlStats stats = measure(() -> page.getAndSet(
+                userService.findUsers(null, List.of("USER"), PageRequest.of(1, 3))));
+
+        assertEquals(USERS - 3, page.get().getNumberOfElements());
+        assertTrue(stats.getStatements() <= 3, "statements: " + stats.getStatements());
+    }
+
+    @Test
+    void getUsers_UserWithSeveralMatchingRoles_TakesOneRowOfThePage() {
+        Role admin = new Role();
+        admin.setName("ADMIN");
+        entityManager.persist(admin);
+        User first = userRepository.findAll(PageRequest.of(0, 1)).getContent().get(0);
+        first.getRoles().add(admin);
+        entityManager.flush();
+        entityManager.clear();
+
+        Page<UserResponseDto> page = userService.findUsers(null, List.of("USER", "ADMIN"), PageRequest.of(0, 3));
+
+        assertEquals(USERS, page.getTotalElements());
+        assertEquals(3, page.getContent().stream().map(UserResponseDto::getId).distinct().count());
+    }
+
+    @Test
+    void validateAndFindRoles_LoadsAllRolesWithOneSelect() {
+        Role admin = new Role();
+        admin.setName("ADMIN");
+        entityManager.persistAndFlush(admin);
+        entityManager.clear();
+        RoleRegistry roleRegistry = new RoleRegistry(roleRepository, new CacheProperties());
+        roleRegistry.reload();
+        RolesValidator rolesValidator = new RolesValidator(roleRegistry);
+
+        SqlStats stats = measure(() -> rolesValidator.validateAndFindRoles(
+                        Set.of(new RoleDto(null, "USER", null), new RoleDto(null, "ADMIN", null))).stream()
+                .map(RoleDto::new)
+                .toList());
+
+        // Names resolve from the registry; the entities come back initialized, so the DTOs need no proxy loads
+        assertEquals(1, stats.getStatements());
+    }
+
+    @Test
+    void transfer_StaysWithinBudget() {
+        TransferTransactionDto transfer = new TransferTransactionDto();
+        transfer.setTransactionType(TransactionType.TRANSFER);
+        transfer.setFromIban("BY00");
+        transfer.setToIban("BY10");
+        transfer.setAmount(BigDecimal.TEN);
+        transfer.setCurrency(Currency.USD);
+
+        SqlStats stats = measure(() -> {
+            transactionService.processTransaction(transfer);
+            entityManager.flush();
+            return null;
+        });
+
+        // Validation and the transfer each look up both accounts; then one update per account
+        assertTrue(stats.getStatements() <= 6, "statements: " + stats.getStatements());
+    }
+
+    private static SqlStats measure(Supplier<?> action) {
+        SqlStats stats = SqlStats.start();
+        try {
+            action.get();
+        } finally {
+            SqlStats.clear();
+        }
+        return stats;
+    }
+}
@@ -1,5 +1,6 @@
 package by.onlinebanking.service;
 
+import by.onlinebanking.cache.ResourceVersions;
 import by.onlinebanking.dto.response.UserResponseDto;
 import by.onlinebanking.dto.role.RoleDto;
 import by.onlinebanking.dto.user.CreateUserDto;
@@ -55,6 +56,9 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private ResourceVersions resourceVersions;
+
     @Mock
     private SecurityContext securityContext;
 
@@ -201,6 +205,8 @@ class UserServiceTest {
         Pageable pageable = mock(Pageable.class);
         when(userRepository.findAll(any(Specification.class), eq(pageable)))
                 .thenReturn(new PageImpl<>(List.of(testUser)));
+        when(userRepository.findAllWithRolesAndAccountsByIdIn(List.of(testUser.getId())))
+                .thenReturn(List.of(testUser));
 
         Page<UserResponseDto> result = userService.getUsers("Test", List.of("ROLE_USER"), pageable);
 
@@ -430,7 +436,7 @@ class UserServiceTest {
         dto2.setRoles(Set.of(new RoleDto(adminRole)));
 
         when(userRepository.findExistingEmails(anyList())).thenReturn(Collections.emptyList());
-        when(rolesValidator.validateAndFindRoles(anySet())).thenReturn(Set.of(userRole));
+        when(rolesValidator.validateRoles(anySet(), anyMap())).thenReturn(Set.of(userRole));
         when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
         when(userRepository.saveAll(anyList())).thenReturn(List.of(testUser, testUser));
 
@@ -438,6 +444,7 @@ class UserServiceTest {
 
         assertNotNull(responses);
         assertEquals(2, responses.size());
+        verify(rolesValidator, times(1)).findRoles(anyCollection());
     }
 
     @Test
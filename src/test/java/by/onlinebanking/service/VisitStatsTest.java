@@ -0,0 +1,345 @@
+package by.onlinebanking.service;
+
+import by.onlinebanking.config.StatsProperties;
+import by.onlinebanking.dto.stats.RouteLatencyDto;
+import by.onlinebanking.dto.stats.RouteVisitsDto;
+import by.onlinebanking.dto.stats.TopKeyDto;
+import by.onlinebanking.exception.ValidationException;
+import by.onlinebanking.stats.HeavyHitterTracker;
+import by.onlinebanking.stats.HeavyHitters;
+import by.onlinebanking.stats.LatencyHistogram;
+import by.onlinebanking.stats.Resolution;
+import by.onlinebanking.stats.VisitStats;
+import by.onlinebanking.stats.filter.RouteResolver;
+import by.onlinebanking.stats.service.VisitCounterService;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class VisitStatsTest {
+    private static final long START = 1_700_000_000_000L;
+
+    private final MutableClock clock = new MutableClock();
+    private VisitStats visitStats;
+    private HeavyHitterTracker heavyHitterTracker;
+    private final RouteResolver routeResolver = mock(RouteResolver.class);
+
+    @BeforeEach
+    void setUp() {
+        StatsProperties properties = new StatsProperties();
+        properties.setMaxRoutes(2);
+        clock.millis = START;
+        visitStats = new VisitStats(properties, clock);
+        heavyHitterTracker = new HeavyHitterTracker(properties, clock);
+    }
+
+    @Test
+    void recordVisit_CountsPerRoute() {
+        visitStats.recordVisit("/api/users/{id}");
+        visitStats.recordVisit("/api/users/{id}");
+        visitStats.recordVisit("/api/accounts");
+
+        assertEquals(2, visitStats.getVisitCount("/api/users/{id}"));
+        assertEquals(1, visitStats.getVisitCount("/api/accounts"));
+        assertEquals(0, visitStats.getVisitCount("/api/unknown"));
+    }
+
+    @Test
+    void recordVisit_BeyondMaxRoutes_CountsUnderOverflowKey() {
+        visitStats.recordVisit("/a");
+        visitStats.recordVisit("/b");
+        visitStats.recordVisit("/c");
+        visitStats.recordVisit("/d");
+        visitStats.recordVisit("/a");
+
+        Map<String, Long> stats = visitStats.getAllStats();
+        assertEquals(3, stats.size());
+        assertEquals(2L, stats.get("/a"));
+        assertEquals(1L, stats.get("/b"));
+        assertEquals(2L, stats.get(VisitStats.OVERFLOW_KEY));
+    }
+
+    @Test
+    void addRouteListener_SeesExistingAndNewRoutesOnce() {
+        visitStats.recordVisit("/a");
+        List<String> routes = new ArrayList<>();
+        visitStats.addRouteListener(routes::add);
+
+        visitStats.recordVisit("/a");
+        visitStats.recordVisit("/b");
+        visitStats.recordVisit("/c");
+        visitStats.recordVisit("/d");
+
+        assertEquals(List.of("/a", "/b", VisitStats.OVERFLOW_KEY), routes);
+    }
+
+    @Test
+    void recordVisit_CountsKnownRoutesUnderPatternAndRejectsOthers() {
+        VisitCounterService service = new VisitCounterService(visitStats, heavyHitterTracker, routeResolver);
+        when(routeResolver.match("/api/users/5")).thenReturn("/api/users/{id}");
+
+        service.recordVisit("/api/users/5");
+
+        assertEquals(1, visitStats.getVisitCount("/api/users/{id}"));
+        assertThrows(ValidationException.class, () -> service.recordVisit("/made-up"));
+        assertEquals(Map.of("/api/users/{id}", 1L), visitStats.getAllStats());
+    }
+
+    @Test
+    void getRecentVisits_ReturnsCompletedBucketsOldestFirst() {
+        visitStats.recordVisit("/a");
+        clock.millis += 1000;
+        visitStats.recordVisit("/a");
+        visitStats.recordVisit("/b");
+        clock.millis += 1500;
+        visitStats.recordVisit("/a");
+
+        VisitStats.Series series = visitStats.getRecentVisits(null, Resolution.SECOND, 3);
+
+        assertArrayEquals(new long[] {0, 1, 2}, series.counts());
+        assertEquals(Instant.ofEpochMilli(START - 1000), series.start());
+        assertArrayEquals(new long[] {0, 1, 1}, visitStats.getRecentVisits("/a", Resolution.SECOND, 3).counts());
+    }
+
+    @Test
+    void getRecentVisits_ExpiredBucketsAreNotCounted() {
+        visitStats.recordVisit("/a");
+        clock.millis += 61_000;
+        visitStats.recordVisit("/a");
+        clock.millis += 1000;
+
+        long[] counts = visitStats.getRecentVisits("/a", Resolution.SECOND, 60).counts();
+
+        assertEquals(1, LongStream.of(counts).sum());
+        assertEquals(1, counts[59]);
+        assertEquals(2, visitStats.getVisitCount("/a"));
+    }
+
+    @Test
+    void getTopRoutes_OrdersRoutesWithinWindow() {
+        VisitCounterService service = new VisitCounterService(visitStats, heavyHitterTracker, routeResolver);
+        visitStats.recordVisit("/a");
+        clock.millis += 120_000;
+        visitStats.recordVisit("/b");
+        visitStats.recordVisit("/b");
+        visitStats.recordVisit("/a");
+
+        List<RouteVisitsDto> top = service.getTopRoutes("30s", 10);
+
+        assertEquals(2, top.size());
+        assertEquals("/b", top.get(0).getRoute());
+        assertEquals(2, top.get(0).getVisits());
+        assertEquals(1, top.get(1).getVisits());
+        assertEquals(2, service.getTopRoutes("5m", 1).get(0).getVisits());
+        assertThrows(ValidationException.class, () -> service.getTopRoutes("2d", 10));
+    }
+
+    @Test
+    void heavyHitters_FindsFrequentKeysAmongManyRareOnes() {
+        HeavyHitters heavyHitters = new HeavyHitters(256, 16);
+        for (int i = 0; i < 5_000; i++) {
+            heavyHitters.add("rare-" + i, START);
+            if (i % 10 == 0) {
+                heavyHitters.add("hot-1", START);
+            }
+            if (i % 25 == 0) {
+                heavyHitters.add("hot-2", START);
+            }
+        }
+
+        List<Map.Entry<String, Long>> top = heavyHitters.top(START, 1, 2);
+
+        assertEquals(List.of("hot-1", "hot-2"), top.stream().map(Map.Entry::getKey).toList());
+        assertTrue(top.get(0).getValue() >= 500);
+        assertTrue(top.get(1).getValue() >= 200);
+    }
+
+    @Test
+    void heavyHitters_KeysWithEqualHashCodeDoNotShareCounters() {
+        HeavyHitters heavyHitters = new HeavyHitters(256, 16);
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        for (int i = 0; i < 100; i++) {
+            heavyHitters.add("BB", START);
+        }
+        heavyHitters.add("Aa", START);
+
+        Map<String, Long> top = heavyHitters.top(START, 1, 2).stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+
+        assertEquals(Map.of("BB", 100L, "Aa", 1L), top);
+    }
+
+    @Test
+    void getTopKeys_CountsOnlyMinutesWithinWindow() {
+        VisitCounterService service = new VisitCounterService(visitStats, heavyHitterTracker, routeResolver);
+        heavyHitterTracker.record(HeavyHitterTracker.Dimension.IBAN, "BY01");
+        heavyHitterTracker.record(HeavyHitterTracker.Dimension.IBAN, "BY01");
+        clock.millis += 10 * 60_000;
+        heavyHitterTracker.record(HeavyHitterTracker.Dimension.IBAN, "BY02");
+        heavyHitterTracker.record(HeavyHitterTracker.Dimension.USER, "7");
+
+        List<TopKeyDto> recent = service.getTopKeys("iban", "5m", 10);
+        List<TopKeyDto> hour = service.getTopKeys("iban", "1h", 10);
+
+        assertEquals(List.of("BY02"), recent.stream().map(TopKeyDto::getKey).toList());
+        assertEquals("BY01", hour.get(0).getKey());
+        assertEquals(2, hour.get(0).getCount());
+        assertEquals("7", service.getTopKeys("user", "1m", 10).get(0).getKey());
+        assertThrows(ValidationException.class, () -> service.getTopKeys("route", "5m", 10));
+        assertThrows(ValidationException.class, () -> service.getTopKeys("iban", "2h", 10));
+    }
+
+    @Test
+    void latencyHistogram_PercentilesWithinBucketError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 10_000; micros++) {
+            histogram.record(micros);
+        }
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        assertEquals(10_000, snapshot.getTotal());
+        assertEquals(10_000, snapshot.getMax());
+        assertWithin(5_000, snapshot.getValueAtPercentile(50));
+        assertWithin(9_900, snapshot.getValueAtPercentile(99));
+        assertEquals(10_000, snapshot.getValueAtPercentile(100));
+    }
+
+    @Test
+    void getLatencies_ReportsPercentilesAndStatusClasses() {
+        VisitCounterService service = new VisitCounterService(visitStats, heavyHitterTracker, routeResolver);
+        for (int i = 0; i < 99; i++) {
+            visitStats.recordRequest("/fast", 200, TimeUnit.MILLISECONDS.toNanos(2));
+        }
+        visitStats.recordRequest("/fast", 500, TimeUnit.MILLISECONDS.toNanos(40));
+        visitStats.recordRequest("/slow", 404, TimeUnit.MILLISECONDS.toNanos(300));
+        visitStats.recordVisit("/slow");
+
+        List<RouteLatencyDto> latencies = service.getLatencies("5m", null);
+
+        assertEquals(List.of("/slow", "/fast"), latencies.stream().map(RouteLatencyDto::getRoute).toList());
+        RouteLatencyDto fast = latencies.get(1);
+        assertEquals(100, fast.getRequests());
+        assertEquals(2.0, fast.getP50Ms(), 0.2);
+        assertEquals(40.0, fast.getMaxMs());
+        assertEquals(Map.of("2xx", 99L, "5xx", 1L), fast.getStatusClasses());
+        assertEquals(1, latencies.get(0).getRequests());
+        assertEquals(2, visitStats.getVisitCount("/slow"));
+    }
+
+    @Test
+    void getLatencies_OnlyCoversRequestsInsideWindow() {
+        VisitCounterService service = new VisitCounterService(visitStats, heavyHitterTracker, routeResolver);
+        visitStats.recordRequest("/a", 500, TimeUnit.MILLISECONDS.toNanos(900));
+        clock.millis += 10 * 60_000;
+        visitStats.recordRequest("/a", 200, TimeUnit.MILLISECONDS.toNanos(3));
+
+        RouteLatencyDto recent = service.getLatencies("5m", "/a").get(0);
+        RouteLatencyDto all = service.getLatencies("15m", "/a").get(0);
+
+        assertEquals(1, recent.getRequests());
+        assertEquals(3.0, recent.getMaxMs(), 0.2);
+        assertEquals(Map.of("2xx", 1L), recent.getStatusClasses());
+        assertEquals(2, all.getRequests());
+        assertEquals(900.0, all.getMaxMs());
+        clock.millis += 20 * 60_000;
+        assertTrue(service.getLatencies("15m", null).isEmpty());
+        assertThrows(ValidationException.class, () -> service.getLatencies("16m", null));
+        assertThrows(ValidationException.class, () -> service.getLatencies("0s", null));
+    }
+
+    @Test
+    void getUnsavedVisits_ReturnsOnlyVisitsSinceLastSave() {
+        visitStats.recordVisit("/a");
+        visitStats.recordVisit("/a");
+
+        List<VisitStats.SnapshotRow> first = visitStats.getUnsavedVisits();
+        assertEquals(Set.of(VisitStats.TOTAL, "MINUTE", "HOUR"),
+                first.stream().map(VisitStats.SnapshotRow::resolution).collect(Collectors.toSet()));
+        assertTrue(first.stream().allMatch(row -> row.visits() == 2));
+        visitStats.markSaved(first);
+        assertTrue(visitStats.getUnsavedVisits().isEmpty());
+
+        clock.millis += 60_000;
+        visitStats.recordVisit("/a");
+        List<VisitStats.SnapshotRow> second = visitStats.getUnsavedVisits();
+
+        assertEquals(3, second.size());
+        assertTrue(second.stream().allMatch(row -> row.visits() == 1));
+        assertEquals(START / 60_000 * 60_000 + 60_000, second.stream()
+                .filter(row -> row.resolution().equals("MINUTE")).findFirst().orElseThrow().bucketStartMillis());
+    }
+
+    @Test
+    void restore_AddsPersistedVisitsAsAlreadySaved() {
+        long minute = (START / 60_000 - 1) * 60_000;
+        visitStats.recordVisit("/a");
+        visitStats.restore(List.of(
+                new VisitStats.SnapshotRow("/a", VisitStats.TOTAL, 0, 40),
+                new VisitStats.SnapshotRow("/a", "MINUTE", minute, 7)));
+
+        assertEquals(41, visitStats.getVisitCount("/a"));
+        assertArrayEquals(new long[] {7}, visitStats.getRecentVisits("/a", Resolution.MINUTE, 1).counts());
+        List<VisitStats.SnapshotRow> unsaved = visitStats.getUnsavedVisits();
+        assertEquals(3, unsaved.size());
+        assertTrue(unsaved.stream().allMatch(row -> row.visits() == 1));
+    }
+
+    @Test
+    void restore_NewRoutesTakeAtMostHalfOfMaxRoutesBusiestFirst() {
+        visitStats.restore(List.of(
+                new VisitStats.SnapshotRow("/x", VisitStats.TOTAL, 0, 5),
+                new VisitStats.SnapshotRow("/y", VisitStats.TOTAL, 0, 50),
+                new VisitStats.SnapshotRow("/x", "MINUTE", START / 60_000 * 60_000, 5)));
+
+        visitStats.recordVisit("/a");
+
+        assertEquals(Map.of("/y", 50L, "/a", 1L), visitStats.getAllStats());
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        assertTrue(actual >= expected && actual <= expected * 1.07,
+                () -> "expected ~" + expected + " but was " + actual);
+    }
+
+    private static final class MutableClock extends Clock {
+        private long millis;
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package by.onlinebanking.stats.service;
+
+import by.onlinebanking.config.StatsProperties;
+import by.onlinebanking.stats.VisitStats;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/** Runs the persister against a real PostgreSQL, since the upsert relies on {@code ON CONFLICT}. */
+class VisitStatsPersisterTest {
+    private static final String ROUTE = "/api/users/{id}";
+
+    private static EmbeddedPostgres postgres;
+    private static JdbcTemplate jdbcTemplate;
+    private static TransactionTemplate transactionTemplate;
+
+    private final StatsProperties properties = new StatsProperties();
+
+    @BeforeAll
+    static void startDatabase() throws IOException {
+        postgres = EmbeddedPostgres.start();
+        jdbcTemplate = new JdbcTemplate(postgres.getPostgresDatabase());
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(postgres.getPostgresDatabase()));
+        jdbcTemplate.execute("CREATE TABLE visit_stats ("
+                + "route VARCHAR(512) NOT NULL, "
+                + "resolution VARCHAR(16) NOT NULL, "
+                + "bucket_start TIMESTAMP(6) WITH TIME ZONE NOT NULL, "
+                + "visits BIGINT NOT NULL, "
+                + "last_visit TIMESTAMP(6) WITH TIME ZONE, "
+                + "PRIMARY KEY (route, resolution, bucket_start))");
+    }
+
+    @AfterAll
+    static void stopDatabase() throws IOException {
+        postgres.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM visit_stats");
+    }
+
+    @Test
+    void save_Twice_IncrementsRows() {
+        VisitStats visitStats = new VisitStats(properties);
+        VisitStatsPersister persister = persister(visitStats);
+
+        visitStats.recordVisit(ROUTE);
+        visitStats.recordVisit(ROUTE);
+        persister.save();
+        visitStats.recordVisit(ROUTE);
+        persister.save();
+
+        assertEquals(3, totalVisits(ROUTE));
+        assertEquals(3, sumVisits(ROUTE, "MINUTE"));
+        assertEquals(3, sumVisits(ROUTE, "HOUR"));
+    }
+
+    @Test
+    void save_FromTwoInstances_SumsVisits() {
+        VisitStats first = new VisitStats(properties);
+        VisitStats second = new VisitStats(properties);
+
+        first.recordVisit(ROUTE);
+        first.recordVisit(ROUTE);
+        persister(first).save();
+        second.recordVisit(ROUTE);
+        persister(second).save();
+
+        assertEquals(3, totalVisits(ROUTE));
+    }
+
+    @Test
+    void load_SkipsAndSavePrunesTotalsPastRetention() {
+        properties.getPersistence().setTotalRetention(Duration.ofDays(30));
+        insertTotal("/stale", 10, Instant.now().minus(Duration.ofDays(31)));
+        insertTotal("/fresh", 20, Instant.now().minus(Duration.ofDays(1)));
+        insertTotal("/legacy", 30, null);
+
+        VisitStats visitStats = new VisitStats(properties);
+        VisitStatsPersister persister = persister(visitStats);
+        persister.load();
+        visitStats.recordVisit("/fresh");
+        persister.save();
+
+        assertEquals(Map.of("/fresh", 21L, "/legacy", 30L), visitStats.getAllStats());
+        assertEquals(21, totalVisits("/fresh"));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM visit_stats WHERE route = '/stale'", Long.class));
+    }
+
+    private VisitStatsPersister persister(VisitStats visitStats) {
+        return new VisitStatsPersister(visitStats, jdbcTemplate, transactionTemplate, properties);
+    }
+
+    private static void insertTotal(String route, long visits, Instant lastVisit) {
+        jdbcTemplate.update("INSERT INTO visit_stats (route, resolution, bucket_start, visits, last_visit) "
+                        + "VALUES (?, ?, ?, ?, ?)", route, VisitStats.TOTAL, new Timestamp(0), visits,
+                lastVisit == null ? null : Timestamp.from(lastVisit));
+    }
+
+    private static long totalVisits(String route) {
+        return sumVisits(route, VisitStats.TOTAL);
+    }
+
+    private static long sumVisits(String route, String resolution) {
+        return jdbcTemplate.queryForObject("SELECT COALESCE(SUM(visits), 0) FROM visit_stats "
+                + "WHERE route = ? AND resolution = ?", Long.class, route, resolution);
+    }
+}